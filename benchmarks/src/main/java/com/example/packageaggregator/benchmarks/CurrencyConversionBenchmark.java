@@ -0,0 +1,56 @@
+package com.example.packageaggregator.benchmarks;
+
+import com.example.packageaggregator.domain.pricing.CurrencyConversion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link CurrencyConversion#fromUsd}, the USD-to-currency conversion used for every total and
+ * product price, per converted price.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyConversionBenchmark {
+
+    private static final int PRICES = 1024;
+
+    private BigDecimal[] prices;
+
+    @Setup
+    public void setUp() {
+        prices = Fixtures.usdPrices(PRICES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRICES)
+    public void multiplyAndRound(Blackhole blackhole) {
+        for (BigDecimal price : prices) {
+            blackhole.consume(CurrencyConversion.fromUsd(price, Fixtures.EUR_RATE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRICES)
+    public void identityRateForUsd(Blackhole blackhole) {
+        for (BigDecimal price : prices) {
+            blackhole.consume(CurrencyConversion.fromUsd(price, BigDecimal.ONE));
+        }
+    }
+}
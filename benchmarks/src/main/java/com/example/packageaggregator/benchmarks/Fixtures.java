@@ -0,0 +1,90 @@
+package com.example.packageaggregator.benchmarks;
+
+import com.example.packageaggregator.api.dto.PackageSummaryDto;
+import com.example.packageaggregator.api.dto.PageDto;
+import com.example.packageaggregator.domain.entity.PackageEntity;
+import com.example.packageaggregator.domain.entity.PackageProductEntity;
+import com.example.packageaggregator.domain.id.TimeOrderedUuids;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shaped like production rows (USD prices with scale 4, as stored).
+ */
+final class Fixtures {
+
+    static final BigDecimal EUR_RATE = new BigDecimal("0.9234");
+    static final String EUR = "EUR";
+
+    private Fixtures() {
+    }
+
+    static PackageEntity packageWithProducts(int productCount) {
+        Random random = new Random(42);
+        PackageEntity entity = PackageEntity.builder()
+                .id(TimeOrderedUuids.next())
+                .name("Benchmark package")
+                .description("Package with " + productCount + " products")
+                .createdAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .version(0L)
+                .build();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < productCount; i++) {
+            BigDecimal price = usdPrice(random);
+            total = total.add(price);
+            PackageProductEntity product = PackageProductEntity.builder()
+                    .id(TimeOrderedUuids.next())
+                    .externalProductId("product-" + i)
+                    .productName("Product number " + i)
+                    .productPriceUsd(price)
+                    .packageEntity(entity)
+                    .build();
+            entity.getProducts().add(product);
+        }
+        entity.setTotalPriceUsd(total);
+        return entity;
+    }
+
+    static BigDecimal[] usdPrices(int count) {
+        Random random = new Random(42);
+        BigDecimal[] prices = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            prices[i] = usdPrice(random);
+        }
+        return prices;
+    }
+
+    static PageDto<PackageSummaryDto> summaryPage(int size) {
+        Random random = new Random(42);
+        List<PackageSummaryDto> content = new ArrayList<>(size);
+        Instant createdAt = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < size; i++) {
+            content.add(PackageSummaryDto.builder()
+                    .id(TimeOrderedUuids.next())
+                    .name("Package " + i)
+                    .description("Description of package " + i)
+                    .totalPrice(CurrencyConversion.fromUsd(usdPrice(random), EUR_RATE))
+                    .currency(EUR)
+                    .createdAt(createdAt.plusSeconds(i))
+                    .build());
+        }
+        return PageDto.<PackageSummaryDto>builder()
+                .content(content)
+                .page(0)
+                .size(size)
+                .totalElements(100_000)
+                .totalPages(100_000 / size)
+                .first(true)
+                .last(false)
+                .build();
+    }
+
+    private static BigDecimal usdPrice(Random random) {
+        return BigDecimal.valueOf(100 + random.nextInt(999_900), 2).setScale(4, RoundingMode.UNNECESSARY);
+    }
+}
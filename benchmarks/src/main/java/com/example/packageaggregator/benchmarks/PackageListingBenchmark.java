@@ -0,0 +1,136 @@
+package com.example.packageaggregator.benchmarks;
+
+import com.example.packageaggregator.PackageAggregatorService;
+import com.example.packageaggregator.api.dto.CursorPageDto;
+import com.example.packageaggregator.api.dto.PackageSummaryDto;
+import com.example.packageaggregator.api.dto.PageDto;
+import com.example.packageaggregator.domain.id.TimeOrderedUuids;
+import com.example.packageaggregator.repository.PackageJpaRepository;
+import com.example.packageaggregator.service.PackageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PackageService#getAll} and {@link PackageService#getPage} end to end (repository, H2, mapping,
+ * conversion) against an in-memory dataset, with the outbound clients stubbed. The {@code repository*}
+ * benchmarks compare full entity hydration with the {@code PackageSummaryRow} projection the listing uses;
+ * run with {@code -prof gc} to see the allocation difference. Starts the application context once per trial
+ * without a web server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackageListingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000"})
+    public int packages;
+
+    private ConfigurableApplicationContext context;
+    private PackageService packageService;
+    private PackageJpaRepository packageRepository;
+    private TransactionTemplate readOnly;
+    private Pageable firstPage;
+    private Pageable deepPage;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(PackageAggregatorService.class, StubClientsConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.allow-bean-definition-overriding=true",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmarks",
+                        "snapshot.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.packageaggregator=WARN")
+                .run();
+        packageService = context.getBean(PackageService.class);
+        packageRepository = context.getBean(PackageJpaRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt");
+        firstPage = PageRequest.of(0, PAGE_SIZE, newestFirst);
+        deepPage = PageRequest.of(packages / PAGE_SIZE - 1, PAGE_SIZE, newestFirst);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageDto<PackageSummaryDto> getAllFirstPage() {
+        return packageService.getAll(firstPage, Fixtures.EUR);
+    }
+
+    @Benchmark
+    public PageDto<PackageSummaryDto> getAllLastPage() {
+        return packageService.getAll(deepPage, Fixtures.EUR);
+    }
+
+    @Benchmark
+    public CursorPageDto<PackageSummaryDto> getPageFirstPage() {
+        return packageService.getPage(null, PAGE_SIZE, Fixtures.EUR, false);
+    }
+
+    @Benchmark
+    public int repositoryEntitiesLastPage() {
+        return readOnly.execute(status -> packageRepository.findAllByDeletedFalse(deepPage).getNumberOfElements());
+    }
+
+    @Benchmark
+    public int repositoryProjectionLastPage() {
+        return readOnly.execute(status -> packageRepository.findSummariesByDeletedFalse(deepPage).getNumberOfElements());
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        List<Object[]> rows = new ArrayList<>(packages);
+        for (int i = 0; i < packages; i++) {
+            UUID id = TimeOrderedUuids.next();
+            byte[] idBytes = ByteBuffer.allocate(16)
+                    .putLong(id.getMostSignificantBits())
+                    .putLong(id.getLeastSignificantBits())
+                    .array();
+            rows.add(new Object[]{idBytes, "Package " + i, "Benchmark package " + i,
+                    new BigDecimal("19.9900"), Timestamp.from(base.plusSeconds(i)), false, 0L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO packages (id, name, description, total_price_usd, created_at, deleted, version)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
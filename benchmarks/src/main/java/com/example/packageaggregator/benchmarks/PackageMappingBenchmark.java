@@ -0,0 +1,70 @@
+package com.example.packageaggregator.benchmarks;
+
+import com.example.packageaggregator.api.dto.PackageProductDto;
+import com.example.packageaggregator.api.dto.PackageResponseDto;
+import com.example.packageaggregator.api.mapper.PackageMapper;
+import com.example.packageaggregator.domain.entity.PackageEntity;
+import com.example.packageaggregator.domain.pricing.CurrencyConversion;
+import com.example.packageaggregator.domain.readmodel.PackageSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the {@code GET /packages/{id}} response: from a JPA entity (as before the near cache) and
+ * from a near-cache {@link PackageSnapshot}, for small, typical and very large packages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackageMappingBenchmark {
+
+    @Param({"1", "50", "1000"})
+    public int products;
+
+    private PackageEntity entity;
+    private PackageSnapshot snapshot;
+    private BigDecimal convertedTotal;
+
+    @Setup
+    public void setUp() {
+        entity = Fixtures.packageWithProducts(products);
+        snapshot = PackageSnapshot.of(entity);
+        convertedTotal = CurrencyConversion.fromUsd(entity.getTotalPriceUsd(), Fixtures.EUR_RATE);
+    }
+
+    @Benchmark
+    public PackageResponseDto toResponseDtoFromEntity() {
+        return PackageMapper.toResponseDto(entity, convertedTotal, Fixtures.EUR, Fixtures.EUR_RATE);
+    }
+
+    @Benchmark
+    public PackageResponseDto toResponseDtoFromSnapshot() {
+        return PackageMapper.toResponseDto(snapshot, convertedTotal, Fixtures.EUR, Fixtures.EUR_RATE);
+    }
+
+    @Benchmark
+    public List<PackageProductDto> toProductDtos() {
+        return PackageMapper.toProductDtos(entity.getProducts(), Fixtures.EUR_RATE, Fixtures.EUR);
+    }
+
+    @Benchmark
+    public PackageSnapshot snapshotFromEntity() {
+        return PackageSnapshot.of(entity);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.packageaggregator.benchmarks;
+
+import com.example.packageaggregator.api.dto.PackageSummaryDto;
+import com.example.packageaggregator.api.dto.PageDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code GET /packages} response body, with the same mapper settings as the
+ * application (Spring's builder defaults, ISO-8601 dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private PageDto<PackageSummaryDto> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        page = Fixtures.summaryPage(pageSize);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.packageaggregator.benchmarks;
+
+import com.example.packageaggregator.client.ExchangeRateClient;
+import com.example.packageaggregator.client.ProductClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replaces the outbound clients (same bean names) so benchmarks measure only this service and never call the
+ * product API or Frankfurter. Requires {@code spring.main.allow-bean-definition-overriding=true}.
+ */
+@Configuration
+public class StubClientsConfiguration {
+
+    @Bean
+    public ProductClient productClient() {
+        return mock(ProductClient.class);
+    }
+
+    @Bean
+    public ExchangeRateClient exchangeRateClient() {
+        ExchangeRateClient client = mock(ExchangeRateClient.class);
+        when(client.getRateUsdTo(anyString())).thenReturn(Fixtures.EUR_RATE);
+        return client;
+    }
+}
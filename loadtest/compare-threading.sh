@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Compares the concurrency ceiling of platform-thread and virtual-thread request handling on the Java 21 build.
+# Product lookups bypass the cache and the product stub answers in ~100ms, so each create holds its request
+# thread for the dependency call; the client connection pool and the product bulkhead are raised so they are not
+# the limit.
+# Requires JDK 21. Override the user steps with USERS="50 200 800".
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+java_major=$(java -version 2>&1 | awk -F'"' '/version/ {split($2, v, "."); print v[1]}')
+if [ "${java_major:-0}" -lt 21 ]; then
+  echo "compare-threading.sh needs JDK 21 on the PATH (found ${java_major:-none})" >&2
+  exit 1
+fi
+# The Maven wrapper when it is set up, otherwise Maven from the PATH
+if [ -f .mvn/wrapper/maven-wrapper.properties ]; then MVN="sh $PWD/mvnw"; else MVN=mvn; fi
+
+$MVN -q -B -Pjava21 package -DskipTests
+(cd loadtest && $MVN -q -B package)
+APP_JAR=$(ls target/package-aggregator-*-exec.jar)
+APP_ARGS="--product-client.cache.maximum-size=0 --http-clients.product.max-connections=4000 --http-clients.product.max-pending-acquires=10000 --resilience4j.bulkhead.instances.product.max-concurrent-calls=4000"
+
+for mode in platform virtual; do
+  enabled=$([ "$mode" = virtual ] && echo true || echo false)
+  for users in ${USERS:-100 400 1600}; do
+    java -jar loadtest/target/loadtest.jar \
+      --app-jar="$APP_JAR" \
+      --app-args="--virtual-threads.enabled=$enabled $APP_ARGS" \
+      --model=closed --users="$users" --mix=create=1 \
+      --product-faults=latency=100ms,spread=0.2 \
+      --warmup=15s --duration=60s \
+      --output="target/loadtest/threading/$mode-$users"
+  done
+done
+
+echo
+echo "create throughput and latency by mode and users:"
+for summary in target/loadtest/threading/*/summary.txt; do
+  printf '%-28s %s\n' "$(basename "$(dirname "$summary")")" "$(grep '^create' "$summary")"
+done
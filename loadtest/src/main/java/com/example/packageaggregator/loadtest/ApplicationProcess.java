@@ -0,0 +1,93 @@
+package com.example.packageaggregator.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service under test started as a child JVM ({@code --app-jar}), wired to the stubs through
+ * {@code http-clients.*.base-url}. The on-disk catalog snapshot is disabled so every run starts cold.
+ * Output goes to {@code app.log} in the report directory.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private ApplicationProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static ApplicationProcess start(LoadTestOptions options, StubServers stubs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(options.java);
+        command.addAll(options.appJvmArgs);
+        command.add("-jar");
+        command.add(options.appJar.toString());
+        command.add("--server.port=" + options.appPort);
+        command.add("--http-clients.product.base-url=" + stubs.productBaseUrl());
+        command.add("--http-clients.exchange-rate.base-url=" + stubs.exchangeRateBaseUrl());
+        command.add("--snapshot.enabled=false");
+        command.addAll(options.appArgs);
+
+        Files.createDirectories(options.output);
+        Path log = options.output.resolve("app.log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(process, "http://localhost:" + options.appPort);
+        try {
+            application.awaitHealthy(log);
+        } catch (InterruptedException | RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private void awaitHealthy(Path log) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application not healthy after " + STARTUP_TIMEOUT.toSeconds() + "s, see " + log);
+    }
+}
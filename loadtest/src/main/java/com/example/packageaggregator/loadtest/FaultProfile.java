@@ -0,0 +1,77 @@
+package com.example.packageaggregator.loadtest;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Behaviour of a stub endpoint: a log-normal latency around {@code latency} (the median; {@code spread} is the
+ * sigma, 0 means fixed), a share of 503 responses ({@code errors}) and a share of requests that are never
+ * answered ({@code hangs}), so client timeouts, retries and circuit breakers get exercised.
+ * <p>
+ * Spec format: {@code latency=40ms,spread=0.5,errors=0.01,hangs=0.001}; omitted keys are 0.
+ */
+final class FaultProfile {
+
+    enum Outcome {
+        RESPOND, FAIL, HANG
+    }
+
+    private final Duration latency;
+    private final double spread;
+    private final double errorRate;
+    private final double hangRate;
+
+    private FaultProfile(Duration latency, double spread, double errorRate, double hangRate) {
+        this.latency = latency;
+        this.spread = spread;
+        this.errorRate = errorRate;
+        this.hangRate = hangRate;
+    }
+
+    static FaultProfile parse(String spec) {
+        Duration latency = Duration.ZERO;
+        double spread = 0;
+        double errors = 0;
+        double hangs = 0;
+        if (!spec.isBlank()) {
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid fault entry '" + entry + "' (expected key=value)");
+                }
+                String value = parts[1].trim();
+                switch (parts[0].trim()) {
+                    case "latency": latency = LoadTestOptions.parseDuration(value); break;
+                    case "spread": spread = Double.parseDouble(value); break;
+                    case "errors": errors = Double.parseDouble(value); break;
+                    case "hangs": hangs = Double.parseDouble(value); break;
+                    default: throw new IllegalArgumentException("Unknown fault key '" + parts[0] + "'");
+                }
+            }
+        }
+        if (spread < 0 || errors < 0 || hangs < 0 || errors + hangs > 1) {
+            throw new IllegalArgumentException("Invalid fault profile '" + spec + "'");
+        }
+        return new FaultProfile(latency, spread, errors, hangs);
+    }
+
+    Outcome nextOutcome(Random random) {
+        double draw = random.nextDouble();
+        if (draw < hangRate) {
+            return Outcome.HANG;
+        }
+        return draw < hangRate + errorRate ? Outcome.FAIL : Outcome.RESPOND;
+    }
+
+    Duration nextLatency(Random random) {
+        if (spread == 0 || latency.isZero()) {
+            return latency;
+        }
+        return Duration.ofNanos((long) (latency.toNanos() * Math.exp(spread * random.nextGaussian())));
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latency.toMillis() + "ms,spread=" + spread + ",errors=" + errorRate + ",hangs=" + hangRate;
+    }
+}
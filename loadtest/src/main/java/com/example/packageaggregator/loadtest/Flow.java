@@ -0,0 +1,40 @@
+package com.example.packageaggregator.loadtest;
+
+import java.util.Locale;
+
+/**
+ * User flows driven against the service. Each flow is one HTTP request and gets its own latency histogram.
+ */
+enum Flow {
+
+    /** {@code POST /packages} with a few random catalog products. */
+    CREATE(201),
+    /** {@code GET /packages?page=0&size=20&currency=...}. */
+    LIST(200),
+    /** {@code GET /packages/{id}?currency=...} for a package created earlier in the run. */
+    GET(200),
+    /** {@code GET /products?currency=...}. */
+    PRODUCTS(200);
+
+    private final int expectedStatus;
+
+    Flow(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    int expectedStatus() {
+        return expectedStatus;
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Flow fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown flow '" + name + "' (expected create, list, get or products)");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.packageaggregator.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Per-flow results of the measured window. Latencies (microseconds, 3 significant digits) are recorded only for
+ * responses with the flow's expected status; other statuses, client-side failures (timeouts, connection errors)
+ * and open-model arrivals dropped at {@code --max-in-flight} are counted separately.
+ * <p>
+ * {@link #write} stores a summary plus one HdrHistogram percentile distribution per flow ({@code <flow>.hgrm},
+ * values in milliseconds), which can be plotted with the HdrHistogram plotter.
+ */
+final class LatencyReport {
+
+    private final Map<Flow, FlowStats> flows = new EnumMap<>(Flow.class);
+
+    LatencyReport(Collection<Flow> flows) {
+        for (Flow flow : flows) {
+            this.flows.put(flow, new FlowStats());
+        }
+    }
+
+    void recordResponse(Flow flow, long latencyNanos, int status) {
+        FlowStats stats = flows.get(flow);
+        if (status == flow.expectedStatus()) {
+            stats.histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        } else {
+            stats.unexpectedStatuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    void recordFailure(Flow flow) {
+        flows.get(flow).failures.increment();
+    }
+
+    void recordDropped(Flow flow) {
+        flows.get(flow).dropped.increment();
+    }
+
+    void print(PrintStream out, Duration measured) {
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf("%-9s %9s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "flow", "ok", "bad", "failed", "dropped", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        flows.forEach((flow, stats) -> {
+            Histogram histogram = stats.histogram;
+            out.printf("%-9s %9d %9d %9d %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    flow.label(),
+                    histogram.getTotalCount(),
+                    stats.unexpectedStatuses.values().stream().mapToLong(LongAdder::sum).sum(),
+                    stats.failures.sum(),
+                    stats.dropped.sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            if (!stats.unexpectedStatuses.isEmpty()) {
+                out.printf("          unexpected statuses: %s%n", new TreeMap<>(stats.unexpectedStatuses).entrySet().stream()
+                        .map(e -> e.getKey() + "=" + e.getValue().sum())
+                        .collect(Collectors.joining(", ")));
+            }
+        });
+    }
+
+    void write(Path directory, String header, Duration measured) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")), true, StandardCharsets.UTF_8)) {
+            summary.println(header);
+            summary.println();
+            print(summary, measured);
+        }
+        for (Map.Entry<Flow, FlowStats> entry : flows.entrySet()) {
+            Path file = directory.resolve(entry.getKey().label() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class FlowStats {
+        final Histogram histogram = new ConcurrentHistogram(3);
+        final ConcurrentMap<Integer, LongAdder> unexpectedStatuses = new ConcurrentHashMap<>();
+        final LongAdder failures = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+}
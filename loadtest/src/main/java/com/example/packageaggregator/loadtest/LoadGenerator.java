@@ -0,0 +1,244 @@
+package com.example.packageaggregator.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the flow mix against the service for {@code warmup + duration}, recording requests that were
+ * <em>scheduled</em> inside the measured window.
+ * <ul>
+ *   <li>Closed model: {@code users} threads, each sending its next request when the previous one completed
+ *   (plus think time). Throughput adapts to the service, so latency is service time under that concurrency.</li>
+ *   <li>Open model: requests arrive at a fixed {@code rate} whether or not earlier ones completed. Latency is
+ *   measured from the scheduled arrival time, so queueing on a slow service is included instead of hidden
+ *   (no coordinated omission).</li>
+ * </ul>
+ */
+final class LoadGenerator {
+
+    private static final int PRODUCTS_PER_PACKAGE = 3;
+    private static final int REMEMBERED_PACKAGES = 4096;
+
+    private final LoadTestOptions options;
+    private final String target;
+    private final List<String> productIds;
+    private final LatencyReport report;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Flow[] flows;
+    private final int[] cumulativeWeights;
+    private final AtomicReferenceArray<String> createdIds = new AtomicReferenceArray<>(REMEMBERED_PACKAGES);
+    private final AtomicLong createdCount = new AtomicLong();
+
+    private long measureStart;
+    private long measureEnd;
+
+    LoadGenerator(LoadTestOptions options, String target, List<String> productIds, LatencyReport report) {
+        this.options = options;
+        this.target = target;
+        this.productIds = productIds;
+        this.report = report;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<Flow> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Flow, Integer> entry : options.mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.flows = weighted.toArray(new Flow[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    void run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureStart = start + options.warmup.toNanos();
+        measureEnd = measureStart + options.duration.toNanos();
+        if (options.model == LoadTestOptions.LoadModel.OPEN) {
+            runOpen(start);
+        } else {
+            runClosed();
+        }
+    }
+
+    private void runClosed() throws InterruptedException {
+        ExecutorService users = Executors.newFixedThreadPool(options.users);
+        for (int i = 0; i < options.users; i++) {
+            users.execute(() -> {
+                while (System.nanoTime() < measureEnd) {
+                    send(nextFlow(), System.nanoTime()).join();
+                    if (!options.thinkTime.isZero()) {
+                        LockSupport.parkNanos(options.thinkTime.toNanos());
+                    }
+                }
+            });
+        }
+        users.shutdown();
+        users.awaitTermination(options.requestTimeout.toNanos() + measureEnd - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private void runOpen(long start) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        AtomicInteger inFlight = new AtomicInteger();
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= measureEnd) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Flow flow = nextFlow();
+            if (inFlight.incrementAndGet() > options.maxInFlight) {
+                inFlight.decrementAndGet();
+                if (isMeasured(scheduled)) {
+                    report.recordDropped(flow);
+                }
+                continue;
+            }
+            send(flow, scheduled).whenComplete((ignored, error) -> inFlight.decrementAndGet());
+        }
+        long drainDeadline = System.nanoTime() + options.requestTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    /** Sends one request for {@code flow}; latency is measured from {@code scheduled}. Never completes exceptionally. */
+    private CompletableFuture<Void> send(Flow flow, long scheduled) {
+        String packageId = flow == Flow.GET ? rememberedPackageId() : null;
+        if (flow == Flow.GET && packageId == null) {
+            flow = Flow.CREATE;
+        }
+        Flow sent = flow;
+        return httpClient.sendAsync(request(sent, packageId), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long latency = System.nanoTime() - scheduled;
+                    boolean measured = isMeasured(scheduled);
+                    if (error != null) {
+                        if (measured) {
+                            report.recordFailure(sent);
+                        }
+                        return null;
+                    }
+                    if (measured) {
+                        report.recordResponse(sent, latency, response.statusCode());
+                    }
+                    if (sent == Flow.CREATE && response.statusCode() == Flow.CREATE.expectedStatus()) {
+                        remember(response.body());
+                    }
+                    return null;
+                });
+    }
+
+    private HttpRequest request(Flow flow, String packageId) {
+        String currency = "currency=" + options.currency;
+        switch (flow) {
+            case CREATE:
+                return HttpRequest.newBuilder(URI.create(target + "/packages"))
+                        .timeout(options.requestTimeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(createBody()))
+                        .build();
+            case LIST:
+                return get("/packages?page=0&size=20&" + currency);
+            case GET:
+                return get("/packages/" + packageId + "?" + currency);
+            case PRODUCTS:
+                return get("/products?" + currency);
+            default:
+                throw new IllegalStateException("Unhandled flow " + flow);
+        }
+    }
+
+    private HttpRequest get(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(target + pathAndQuery))
+                .timeout(options.requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private String createBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("name", "Load test package");
+        body.put("description", "Created by the load-test harness");
+        for (int i = 0; i < PRODUCTS_PER_PACKAGE; i++) {
+            body.withArray("productIds").add(productIds.get(random.nextInt(productIds.size())));
+        }
+        return body.toString();
+    }
+
+    private Flow nextFlow() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return flows[i];
+            }
+        }
+        return flows[flows.length - 1];
+    }
+
+    private boolean isMeasured(long scheduled) {
+        return scheduled >= measureStart && scheduled < measureEnd;
+    }
+
+    private void remember(String createdPackage) {
+        try {
+            JsonNode id = objectMapper.readTree(createdPackage).get("id");
+            if (id != null) {
+                createdIds.set((int) (createdCount.getAndIncrement() % REMEMBERED_PACKAGES), id.asText());
+            }
+        } catch (IOException e) {
+            // Not remembered; GET falls back to CREATE until some package is.
+        }
+    }
+
+    /**
+     * A random remembered id, or {@code null} if there is none yet. {@link #remember} reserves its slot before it
+     * writes the id, so a slot below the count can still be empty for a moment; empty slots are skipped.
+     */
+    private String rememberedPackageId() {
+        long created = createdCount.get();
+        if (created == 0) {
+            return null;
+        }
+        int bound = (int) Math.min(created, REMEMBERED_PACKAGES);
+        int start = ThreadLocalRandom.current().nextInt(bound);
+        for (int i = 0; i < bound; i++) {
+            String id = createdIds.get((start + i) % bound);
+            if (id != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.packageaggregator.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Entry point: starts the stubs, optionally the service under test, runs the load and writes the report.
+ * See {@link LoadTestOptions#USAGE} for the options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(LoadTestOptions.USAGE);
+            return;
+        }
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try (StubServers stubs = new StubServers(options)) {
+            System.out.printf("Product service stub: %s (%s)%n", stubs.productBaseUrl(), options.productFaults);
+            System.out.printf("Frankfurter stub:     %s (%s)%n", stubs.exchangeRateBaseUrl(), options.exchangeRateFaults);
+            if (options.stubsOnly) {
+                System.out.printf("Start the service with --http-clients.product.base-url=%s --http-clients.exchange-rate.base-url=%s%n",
+                        stubs.productBaseUrl(), stubs.exchangeRateBaseUrl());
+                new CountDownLatch(1).await();
+                return;
+            }
+            ApplicationProcess application = options.appJar != null ? ApplicationProcess.start(options, stubs) : null;
+            try {
+                String target = application != null ? application.baseUrl() : options.target;
+                String header = describe(options, target);
+                System.out.println(header);
+
+                LatencyReport report = new LatencyReport(options.mix.keySet());
+                new LoadGenerator(options, target, stubs.productIds(), report).run();
+
+                System.out.println();
+                report.print(System.out, options.duration);
+                report.write(options.output, header, options.duration);
+                System.out.println();
+                System.out.println("Report written to " + options.output.toAbsolutePath());
+            } finally {
+                if (application != null) {
+                    application.close();
+                }
+            }
+        }
+    }
+
+    private static String describe(LoadTestOptions options, String target) {
+        String load = options.model == LoadTestOptions.LoadModel.OPEN
+                ? "open model, " + options.rate + " req/s, max " + options.maxInFlight + " in flight"
+                : "closed model, " + options.users + " users, think time " + options.thinkTime.toMillis() + "ms";
+        return String.format("Target %s: %s, mix %s, warm-up %ds, measured %ds",
+                target, load, options.mix, options.warmup.toSeconds(), options.duration.toSeconds());
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.packageaggregator.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line options ({@code --name=value}); every option has a default, see {@link #USAGE}.
+ */
+final class LoadTestOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar loadtest.jar [--option=value ...]",
+            "",
+            "Service under test:",
+            "  --target=URL                 running service to drive (default http://localhost:8080)",
+            "  --app-jar=PATH               start this application jar against the stubs instead of using --target",
+            "  --app-port=PORT              port for the started application (default 8081)",
+            "  --java=PATH                  java executable for the started application (default: this JVM's)",
+            "  --app-jvm-args=ARGS          space-separated JVM options for the started application",
+            "  --app-args=ARGS              space-separated extra application arguments (e.g. --spring.profiles.active=x)",
+            "  --stubs-only                 only run the stubs, until interrupted",
+            "",
+            "Stubs:",
+            "  --product-port=PORT          product service stub port (default 9091)",
+            "  --exchange-rate-port=PORT    Frankfurter stub port (default 9092)",
+            "  --products=N                 catalog size (default 100)",
+            "  --product-faults=SPEC        e.g. latency=40ms,spread=0.5,errors=0.01,hangs=0.001 (default latency=30ms,spread=0.4)",
+            "  --exchange-rate-faults=SPEC  same format (default latency=50ms,spread=0.4)",
+            "",
+            "Load:",
+            "  --model=closed|open          closed: fixed users; open: fixed arrival rate (default closed)",
+            "  --users=N                    closed model: concurrent users (default 16)",
+            "  --think-time=DURATION        closed model: pause between a user's requests (default 0ms)",
+            "  --rate=N                     open model: requests per second (default 200)",
+            "  --max-in-flight=N            open model: outstanding requests before arrivals are dropped (default 2000)",
+            "  --mix=FLOW=WEIGHT,...        flows create, list, get, products (default create=1,list=4,get=4,products=1)",
+            "  --currency=CODE              currency requested by list, get and products (default EUR)",
+            "  --warmup=DURATION            unrecorded warm-up (default 10s)",
+            "  --duration=DURATION          recorded run (default 60s)",
+            "  --request-timeout=DURATION   client-side timeout per request (default 10s)",
+            "  --output=DIR                 report directory (default target/loadtest)");
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)(ms|s|m)");
+
+    String target = "http://localhost:8080";
+    Path appJar;
+    int appPort = 8081;
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    List<String> appJvmArgs = List.of();
+    List<String> appArgs = List.of();
+    boolean stubsOnly;
+
+    int productPort = 9091;
+    int exchangeRatePort = 9092;
+    int products = 100;
+    FaultProfile productFaults = FaultProfile.parse("latency=30ms,spread=0.4");
+    FaultProfile exchangeRateFaults = FaultProfile.parse("latency=50ms,spread=0.4");
+
+    LoadModel model = LoadModel.CLOSED;
+    int users = 16;
+    Duration thinkTime = Duration.ZERO;
+    int rate = 200;
+    int maxInFlight = 2000;
+    Map<Flow, Integer> mix = parseMix("create=1,list=4,get=4,products=1");
+    String currency = "EUR";
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    Duration requestTimeout = Duration.ofSeconds(10);
+    Path output = Paths.get("target", "loadtest");
+
+    enum LoadModel {
+        CLOSED, OPEN
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "" : arg.substring(eq + 1);
+            options.set(name, value);
+        }
+        if (options.users < 1 || options.rate < 1 || options.maxInFlight < 1 || options.products < 1) {
+            throw new IllegalArgumentException("users, rate, max-in-flight and products must be at least 1");
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "target": target = value.replaceFirst("/+$", ""); break;
+            case "app-jar": appJar = Paths.get(value); break;
+            case "app-port": appPort = Integer.parseInt(value); break;
+            case "java": java = value; break;
+            case "app-jvm-args": appJvmArgs = words(value); break;
+            case "app-args": appArgs = words(value); break;
+            case "stubs-only": stubsOnly = true; break;
+            case "product-port": productPort = Integer.parseInt(value); break;
+            case "exchange-rate-port": exchangeRatePort = Integer.parseInt(value); break;
+            case "products": products = Integer.parseInt(value); break;
+            case "product-faults": productFaults = FaultProfile.parse(value); break;
+            case "exchange-rate-faults": exchangeRateFaults = FaultProfile.parse(value); break;
+            case "model": model = LoadModel.valueOf(value.toUpperCase()); break;
+            case "users": users = Integer.parseInt(value); break;
+            case "think-time": thinkTime = parseDuration(value); break;
+            case "rate": rate = Integer.parseInt(value); break;
+            case "max-in-flight": maxInFlight = Integer.parseInt(value); break;
+            case "mix": mix = parseMix(value); break;
+            case "currency": currency = value; break;
+            case "warmup": warmup = parseDuration(value); break;
+            case "duration": duration = parseDuration(value); break;
+            case "request-timeout": requestTimeout = parseDuration(value); break;
+            case "output": output = Paths.get(value); break;
+            default: throw new IllegalArgumentException("Unknown option --" + name);
+        }
+    }
+
+    /** Parses {@code 250ms}, {@code 30s} or {@code 5m}. */
+    static Duration parseDuration(String value) {
+        Matcher matcher = DURATION.matcher(value.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration '" + value + "' (expected e.g. 250ms, 30s, 5m)");
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2)) {
+            case "ms": return Duration.ofMillis(amount);
+            case "s": return Duration.ofSeconds(amount);
+            default: return Duration.ofMinutes(amount);
+        }
+    }
+
+    private static Map<Flow, Integer> parseMix(String value) {
+        Map<Flow, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "' (expected flow=weight)");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            weights.put(Flow.fromName(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one flow needs a positive weight");
+        }
+        return weights;
+    }
+
+    private static List<String> words(String value) {
+        return value.isBlank() ? List.of() : new ArrayList<>(Arrays.asList(value.trim().split("\\s+")));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.packageaggregator.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-ins for the external dependencies, answering the same paths and JSON shapes:
+ * <ul>
+ *   <li>product service: {@code GET /api/v1/products}, {@code GET /api/v1/products/{id}} (404 for unknown ids)</li>
+ *   <li>Frankfurter: {@code GET /latest?from=USD}, {@code GET /currencies}</li>
+ * </ul>
+ * Every response goes through the endpoint's {@link FaultProfile}. Catalog and rates are fixed for the run, so
+ * the service's caches behave as they would against a stable upstream.
+ */
+final class StubServers implements AutoCloseable {
+
+    static final String PRODUCT_BASE_PATH = "/api/v1";
+
+    private static final Map<String, String> CURRENCIES = currencies();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> productIds = new ArrayList<>();
+    private final Map<String, byte[]> productsById = new LinkedHashMap<>();
+    private final byte[] catalog;
+    private final byte[] latestRates;
+    private final byte[] currencyNames;
+    private final DisposableServer productServer;
+    private final DisposableServer exchangeRateServer;
+
+    StubServers(LoadTestOptions options) {
+        Random random = new Random(42);
+        List<Map<String, Object>> products = new ArrayList<>();
+        for (int i = 0; i < options.products; i++) {
+            String id = String.format("stub-%05d", i);
+            Map<String, Object> product = new LinkedHashMap<>();
+            product.put("id", id);
+            product.put("name", "Stub product " + i);
+            product.put("usdPrice", BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+            products.add(product);
+            productIds.add(id);
+            productsById.put(id, json(product));
+        }
+        this.catalog = json(products);
+        this.latestRates = json(latestRates());
+        this.currencyNames = json(CURRENCIES);
+
+        FaultProfile productFaults = options.productFaults;
+        FaultProfile exchangeRateFaults = options.exchangeRateFaults;
+        this.productServer = HttpServer.create()
+                .port(options.productPort)
+                .route(routes -> routes
+                        .get(PRODUCT_BASE_PATH + "/products", (request, response) ->
+                                respond(response, productFaults, catalog))
+                        .get(PRODUCT_BASE_PATH + "/products/{id}", (request, response) ->
+                                respond(response, productFaults, productsById.get(request.param("id")))))
+                .bindNow();
+        this.exchangeRateServer = HttpServer.create()
+                .port(options.exchangeRatePort)
+                .route(routes -> routes
+                        .get("/latest", (request, response) -> respond(response, exchangeRateFaults, latestRates))
+                        .get("/currencies", (request, response) -> respond(response, exchangeRateFaults, currencyNames)))
+                .bindNow();
+    }
+
+    String productBaseUrl() {
+        return "http://localhost:" + productServer.port() + PRODUCT_BASE_PATH;
+    }
+
+    String exchangeRateBaseUrl() {
+        return "http://localhost:" + exchangeRateServer.port();
+    }
+
+    List<String> productIds() {
+        return productIds;
+    }
+
+    @Override
+    public void close() {
+        productServer.disposeNow();
+        exchangeRateServer.disposeNow();
+    }
+
+    /** Answers after the sampled latency: the body (404 when {@code null}), a 503, or nothing at all. */
+    private static Publisher<Void> respond(HttpServerResponse response, FaultProfile faults, byte[] body) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        FaultProfile.Outcome outcome = faults.nextOutcome(random);
+        if (outcome == FaultProfile.Outcome.HANG) {
+            return Mono.never();
+        }
+        return Mono.delay(faults.nextLatency(random)).then(Mono.defer(() -> {
+            if (outcome == FaultProfile.Outcome.FAIL) {
+                return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).sendString(Mono.just("stub failure")).then();
+            }
+            if (body == null) {
+                return response.status(HttpResponseStatus.NOT_FOUND).send().then();
+            }
+            return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                    .sendByteArray(Mono.just(body))
+                    .then();
+        }));
+    }
+
+    private static Map<String, Object> latestRates() {
+        Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        rates.put("EUR", new BigDecimal("0.9234"));
+        rates.put("GBP", new BigDecimal("0.7891"));
+        rates.put("BRL", new BigDecimal("4.9512"));
+        rates.put("JPY", new BigDecimal("141.52"));
+        rates.put("CAD", new BigDecimal("1.3467"));
+        Map<String, Object> latest = new LinkedHashMap<>();
+        latest.put("amount", 1.0);
+        latest.put("base", "USD");
+        latest.put("date", LocalDate.now().toString());
+        latest.put("rates", rates);
+        return latest;
+    }
+
+    private static Map<String, String> currencies() {
+        Map<String, String> names = new LinkedHashMap<>();
+        names.put("BRL", "Brazilian Real");
+        names.put("CAD", "Canadian Dollar");
+        names.put("EUR", "Euro");
+        names.put("GBP", "British Pound");
+        names.put("JPY", "Japanese Yen");
+        names.put("USD", "United States Dollar");
+        return names;
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize stub data", e);
+        }
+    }
+}
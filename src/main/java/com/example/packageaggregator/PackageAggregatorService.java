@@ -2,8 +2,22 @@ package com.example.packageaggregator;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * R2DBC is configured explicitly by {@code ReactiveDataConfig} in the {@code reactive} profile only. Its
+ * auto-configuration stays off in both stacks: an auto-configured R2DBC transaction manager would make JPA's
+ * back off.
+ */
+@SpringBootApplication(exclude = {
+        R2dbcAutoConfiguration.class,
+        R2dbcDataAutoConfiguration.class,
+        R2dbcRepositoriesAutoConfiguration.class,
+        R2dbcTransactionManagerAutoConfiguration.class
+})
 public class PackageAggregatorService {
 
     public static void main(String[] args) {
@@ -0,0 +1,50 @@
+package com.example.packageaggregator.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset paging over packages ordered by (createdAt DESC, id DESC):
+ * the sort key of the last row of the previous page, URL-safe Base64 encoded.
+ */
+@Getter
+@AllArgsConstructor
+public final class PackageCursor {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    private final Instant createdAt;
+    private final UUID id;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} was not produced by {@link #encode()}
+     */
+    public static PackageCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Instant createdAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        return new PackageCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.packageaggregator.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request body for creating many packages at once. Each item is validated on its own and reported in the response.")
+public class BatchCreatePackagesRequest {
+
+    public static final int MAX_PACKAGES = 1000;
+
+    @NotEmpty(message = "At least one package is required")
+    @Size(max = MAX_PACKAGES, message = "At most " + MAX_PACKAGES + " packages per batch")
+    @Schema(description = "Packages to create", required = true)
+    private List<CreatePackageRequest> packages;
+}
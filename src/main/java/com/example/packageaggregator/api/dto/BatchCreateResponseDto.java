@@ -0,0 +1,21 @@
+package com.example.packageaggregator.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateResponseDto {
+
+    private int created;
+    private int failed;
+    private List<BatchItemResultDto> results;
+}
@@ -0,0 +1,29 @@
+package com.example.packageaggregator.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of one item of a batch request.")
+public class BatchItemResultDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    @Schema(description = "Zero-based position of the item in the request")
+    private int index;
+    @Schema(description = "CREATED or FAILED", example = "CREATED")
+    private String status;
+    @Schema(description = "The created package (USD); null when the item failed")
+    private PackageResponseDto result;
+    @Schema(description = "Why the item failed; null when it was created")
+    private String error;
+}
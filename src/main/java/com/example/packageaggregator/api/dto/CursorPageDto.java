@@ -0,0 +1,27 @@
+package com.example.packageaggregator.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One page of a keyset (cursor) paged listing.")
+public class CursorPageDto<T> {
+
+    private List<T> content;
+    private int size;
+    @Schema(description = "Pass as 'cursor' to fetch the next page; null on the last page")
+    private String nextCursor;
+    private boolean hasNext;
+    @Schema(description = "Total number of packages; only present when requested with includeTotal=true")
+    private Long totalElements;
+}
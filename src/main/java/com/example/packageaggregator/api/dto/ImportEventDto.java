@@ -0,0 +1,36 @@
+package com.example.packageaggregator.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One line of the NDJSON response of {@code POST /packages/import}. {@code type} is one of
+ * {@code error} (a line that was not imported), {@code progress} (after each committed micro-batch),
+ * {@code aborted} (the import stopped; lines up to {@code linesRead} minus the failed batch were processed)
+ * or {@code summary} (last line when the whole body was read).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEventDto {
+
+    public static final String ERROR = "error";
+    public static final String PROGRESS = "progress";
+    public static final String ABORTED = "aborted";
+    public static final String SUMMARY = "summary";
+
+    private String type;
+    /** 1-based line number of the request body this event is about (error, aborted). */
+    private Long line;
+    private Long linesRead;
+    private Long created;
+    private Long failed;
+    private String error;
+}
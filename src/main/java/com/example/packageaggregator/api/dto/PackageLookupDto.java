@@ -0,0 +1,21 @@
+package com.example.packageaggregator.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageLookupDto {
+
+    private List<PackageResponseDto> packages;
+    private List<UUID> missing;
+}
@@ -0,0 +1,29 @@
+package com.example.packageaggregator.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request body for looking up many packages by ID.")
+public class PackageLookupRequest {
+
+    public static final int MAX_IDS = 200;
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids per lookup")
+    @Schema(description = "Package UUIDs", required = true)
+    private List<UUID> ids;
+}
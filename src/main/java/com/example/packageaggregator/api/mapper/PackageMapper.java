@@ -1,16 +1,23 @@
 package com.example.packageaggregator.api.mapper;
 
+import com.example.packageaggregator.api.dto.BatchCreateResponseDto;
+import com.example.packageaggregator.api.dto.BatchItemResultDto;
+import com.example.packageaggregator.api.dto.CursorPageDto;
+import com.example.packageaggregator.api.dto.PackageLookupDto;
 import com.example.packageaggregator.api.dto.PageDto;
 import com.example.packageaggregator.api.dto.PackageProductDto;
 import com.example.packageaggregator.api.dto.PackageResponseDto;
 import com.example.packageaggregator.api.dto.PackageSummaryDto;
 import com.example.packageaggregator.domain.entity.PackageEntity;
 import com.example.packageaggregator.domain.entity.PackageProductEntity;
+import com.example.packageaggregator.domain.pricing.CurrencyConversion;
+import com.example.packageaggregator.domain.readmodel.PackageSnapshot;
+import com.example.packageaggregator.repository.projection.PackageSummaryRow;
 import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public final class PackageMapper {
@@ -29,6 +36,17 @@ public final class PackageMapper {
                 .build();
     }
 
+    public static PackageSummaryDto toSummaryDto(PackageSummaryRow row, BigDecimal totalPriceInCurrency, String currency) {
+        return PackageSummaryDto.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .totalPrice(totalPriceInCurrency)
+                .currency(currency)
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
     public static PackageResponseDto toResponseDto(PackageEntity entity, BigDecimal totalPriceInCurrency, String currency, BigDecimal rateUsdToCurrency) {
         return PackageResponseDto.builder()
                 .id(entity.getId())
@@ -41,6 +59,20 @@ public final class PackageMapper {
                 .build();
     }
 
+    public static PackageResponseDto toResponseDto(PackageSnapshot snapshot, BigDecimal totalPriceInCurrency, String currency, BigDecimal rateUsdToCurrency) {
+        return PackageResponseDto.builder()
+                .id(snapshot.getId())
+                .name(snapshot.getName())
+                .description(snapshot.getDescription())
+                .totalPrice(totalPriceInCurrency)
+                .currency(currency)
+                .createdAt(snapshot.getCreatedAt())
+                .products(snapshot.getProducts().stream()
+                        .map(p -> toProductDto(p, rateUsdToCurrency, currency))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     public static List<PackageProductDto> toProductDtos(List<PackageProductEntity> products, BigDecimal rateUsdToCurrency, String currency) {
         if (products == null) {
             return List.of();
@@ -51,9 +83,7 @@ public final class PackageMapper {
     }
 
     public static PackageProductDto toProductDto(PackageProductEntity entity, BigDecimal rateUsdToCurrency, String currency) {
-        BigDecimal priceInCurrency = entity.getProductPriceUsd() != null
-                ? entity.getProductPriceUsd().multiply(rateUsdToCurrency).setScale(2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        BigDecimal priceInCurrency = CurrencyConversion.fromUsd(entity.getProductPriceUsd(), rateUsdToCurrency);
         return PackageProductDto.builder()
                 .externalProductId(entity.getExternalProductId())
                 .productName(entity.getProductName())
@@ -63,7 +93,18 @@ public final class PackageMapper {
                 .build();
     }
 
-    public static PageDto<PackageSummaryDto> toPageDto(Page<PackageEntity> page, List<PackageSummaryDto> content) {
+    public static PackageProductDto toProductDto(PackageSnapshot.Product product, BigDecimal rateUsdToCurrency, String currency) {
+        BigDecimal priceInCurrency = CurrencyConversion.fromUsd(product.getProductPriceUsd(), rateUsdToCurrency);
+        return PackageProductDto.builder()
+                .externalProductId(product.getExternalProductId())
+                .productName(product.getProductName())
+                .productPriceUsd(product.getProductPriceUsd())
+                .price(priceInCurrency)
+                .currency(currency)
+                .build();
+    }
+
+    public static PageDto<PackageSummaryDto> toPageDto(Page<?> page, List<PackageSummaryDto> content) {
         return PageDto.<PackageSummaryDto>builder()
                 .content(content)
                 .page(page.getNumber())
@@ -74,4 +115,49 @@ public final class PackageMapper {
                 .last(page.isLast())
                 .build();
     }
+
+    public static CursorPageDto<PackageSummaryDto> toCursorPageDto(List<PackageSummaryDto> content, int size,
+                                                                   String nextCursor, Long totalElements) {
+        return CursorPageDto.<PackageSummaryDto>builder()
+                .content(content)
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    public static BatchItemResultDto toCreatedItem(int index, PackageResponseDto created) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(BatchItemResultDto.CREATED)
+                .result(created)
+                .build();
+    }
+
+    public static BatchItemResultDto toFailedItem(int index, String error) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(BatchItemResultDto.FAILED)
+                .error(error)
+                .build();
+    }
+
+    public static BatchCreateResponseDto toBatchCreateResponse(List<BatchItemResultDto> results) {
+        int created = (int) results.stream()
+                .filter(result -> BatchItemResultDto.CREATED.equals(result.getStatus()))
+                .count();
+        return BatchCreateResponseDto.builder()
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    public static PackageLookupDto toLookupDto(List<PackageResponseDto> packages, List<UUID> missing) {
+        return PackageLookupDto.builder()
+                .packages(packages)
+                .missing(missing)
+                .build();
+    }
 }
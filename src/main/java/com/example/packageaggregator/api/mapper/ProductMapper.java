@@ -0,0 +1,31 @@
+package com.example.packageaggregator.api.mapper;
+
+import com.example.packageaggregator.api.dto.ProductDto;
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import com.example.packageaggregator.domain.pricing.CurrencyConversion;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    public static List<ProductDto> toProductDtos(List<ExternalProductResponse> products, BigDecimal rateUsdToCurrency, String currency) {
+        return products.stream()
+                .map(p -> toProductDto(p, rateUsdToCurrency, currency))
+                .collect(Collectors.toList());
+    }
+
+    public static ProductDto toProductDto(ExternalProductResponse product, BigDecimal rateUsdToCurrency, String currency) {
+        BigDecimal priceInCurrency = CurrencyConversion.fromUsd(product.getUsdPrice(), rateUsdToCurrency);
+        return ProductDto.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(priceInCurrency)
+                .currency(currency)
+                .build();
+    }
+}
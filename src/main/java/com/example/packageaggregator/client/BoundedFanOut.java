@@ -0,0 +1,33 @@
+package com.example.packageaggregator.client;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Fans out one non-blocking call per key with at most {@code maxConcurrency} calls in flight and a single
+ * deadline for the whole batch. Keys whose call completes empty (e.g. 404) are absent from the result; the
+ * first failure cancels the remaining calls and is the batch's only error.
+ */
+public final class BoundedFanOut {
+
+    private BoundedFanOut() {
+    }
+
+    public static <K, V> Mono<Map<K, V>> fetchAll(Collection<K> keys, Function<K, Mono<V>> call,
+                                                  int maxConcurrency, Duration deadline) {
+        if (keys == null || keys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Flux.fromIterable(keys)
+                .distinct()
+                .flatMap(key -> call.apply(key).map(value -> Map.entry(key, value)), Math.max(1, maxConcurrency))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .timeout(deadline);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.packageaggregator.client;
+
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Last known good reference data from the external services, as persisted by {@link CatalogSnapshotStore}.
+ * Each section is null until it has been fetched successfully once.
+ */
+@Getter
+@With
+@AllArgsConstructor
+public final class CatalogSnapshot {
+
+    static final CatalogSnapshot EMPTY = new CatalogSnapshot(null, null, null);
+
+    private final List<ExternalProductResponse> products;
+    /** Currency code to display name. */
+    private final Map<String, String> currencies;
+    private final RateTable rateTable;
+
+    public boolean isEmpty() {
+        return products == null && currencies == null && rateTable == null;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.packageaggregator.client;
+
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Persists the product catalog, currency list and USD rate table to a local snapshot file after every
+ * successful refresh, and loads it once at startup. {@link ProductClient} and {@link ExchangeRateClient} use it
+ * to answer immediately after a restart and to keep serving last known good data while a dependency is down.
+ * <p>
+ * File layout (big-endian, {@link DataOutputStream}): magic, format version, then one section per data set,
+ * each prefixed with a presence flag. The file is written to a temporary sibling and atomically moved into
+ * place, so a crash mid-write never leaves a truncated snapshot behind.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshotStore {
+
+    private static final int MAGIC = 0x50414753; // "PAGS"
+    private static final short FORMAT_VERSION = 1;
+
+    private final boolean enabled;
+    private final Path path;
+    private final Scheduler writeScheduler;
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>(CatalogSnapshot.EMPTY);
+
+    @Autowired
+    public CatalogSnapshotStore(@Value("${snapshot.enabled:true}") boolean enabled,
+                                @Value("${snapshot.path:${java.io.tmpdir}/package-aggregator/catalog-snapshot.bin}") String path) {
+        // Callers are often on a WebClient event-loop thread; keep file I/O off it.
+        this(enabled, path, Schedulers.boundedElastic());
+    }
+
+    /**
+     * Writes on {@code writeScheduler}; tests pass {@link Schedulers#immediate()} to write synchronously.
+     */
+    CatalogSnapshotStore(boolean enabled, String path, Scheduler writeScheduler) {
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.writeScheduler = writeScheduler;
+        if (enabled) {
+            current.set(read());
+        }
+    }
+
+    /**
+     * The snapshot loaded at startup, updated with every section saved since.
+     */
+    public CatalogSnapshot get() {
+        return current.get();
+    }
+
+    public void saveProducts(List<ExternalProductResponse> products) {
+        save(snapshot -> snapshot.withProducts(List.copyOf(products)));
+    }
+
+    public void saveCurrencies(Map<String, String> currencies) {
+        save(snapshot -> snapshot.withCurrencies(Map.copyOf(currencies)));
+    }
+
+    public void saveRateTable(RateTable rateTable) {
+        save(snapshot -> snapshot.withRateTable(rateTable));
+    }
+
+    private void save(UnaryOperator<CatalogSnapshot> update) {
+        if (!enabled) {
+            return;
+        }
+        current.updateAndGet(update);
+        writeScheduler.schedule(this::write);
+    }
+
+    private synchronized void write() {
+        CatalogSnapshot snapshot = current.get();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(FORMAT_VERSION);
+                writeProducts(out, snapshot.getProducts());
+                writeCurrencies(out, snapshot.getCurrencies());
+                writeRateTable(out, snapshot.getRateTable());
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote catalog snapshot to {}", path);
+        } catch (IOException e) {
+            log.warn("Could not write catalog snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private CatalogSnapshot read() {
+        if (!Files.isReadable(path)) {
+            log.info("No catalog snapshot at {}; starting cold", path);
+            return CatalogSnapshot.EMPTY;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION) {
+                log.warn("Ignoring catalog snapshot {} with unknown format", path);
+                return CatalogSnapshot.EMPTY;
+            }
+            CatalogSnapshot snapshot = new CatalogSnapshot(readProducts(in), readCurrencies(in), readRateTable(in));
+            log.info("Loaded catalog snapshot from {}", path);
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", path, e.getMessage());
+            return CatalogSnapshot.EMPTY;
+        }
+    }
+
+    private static void writeProducts(DataOutputStream out, List<ExternalProductResponse> products) throws IOException {
+        out.writeBoolean(products != null);
+        if (products == null) {
+            return;
+        }
+        out.writeInt(products.size());
+        for (ExternalProductResponse product : products) {
+            writeNullableString(out, product.getId());
+            writeNullableString(out, product.getName());
+            writeNullableString(out, product.getUsdPrice() != null ? product.getUsdPrice().toPlainString() : null);
+        }
+    }
+
+    private static List<ExternalProductResponse> readProducts(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int size = in.readInt();
+        List<ExternalProductResponse> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String id = readNullableString(in);
+            String name = readNullableString(in);
+            String price = readNullableString(in);
+            products.add(ExternalProductResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .usdPrice(price != null ? new BigDecimal(price) : null)
+                    .build());
+        }
+        return List.copyOf(products);
+    }
+
+    private static void writeCurrencies(DataOutputStream out, Map<String, String> currencies) throws IOException {
+        out.writeBoolean(currencies != null);
+        if (currencies == null) {
+            return;
+        }
+        out.writeInt(currencies.size());
+        for (Map.Entry<String, String> entry : currencies.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeNullableString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readCurrencies(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int size = in.readInt();
+        Map<String, String> currencies = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String code = in.readUTF();
+            String name = readNullableString(in);
+            currencies.put(code, name != null ? name : code);
+        }
+        return Map.copyOf(currencies);
+    }
+
+    private static void writeRateTable(DataOutputStream out, RateTable table) throws IOException {
+        out.writeBoolean(table != null);
+        if (table == null) {
+            return;
+        }
+        writeNullableString(out, table.getDate());
+        out.writeLong(table.getFetchedAt().toEpochMilli());
+        out.writeInt(table.getRates().size());
+        for (Map.Entry<String, BigDecimal> entry : table.getRates().entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue().toPlainString());
+        }
+    }
+
+    private static RateTable readRateTable(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String date = readNullableString(in);
+        Instant fetchedAt = Instant.ofEpochMilli(in.readLong());
+        int size = in.readInt();
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            rates.put(in.readUTF(), new BigDecimal(in.readUTF()));
+        }
+        return new RateTable(rates, date, fetchedAt);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
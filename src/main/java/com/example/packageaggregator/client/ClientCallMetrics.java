@@ -0,0 +1,70 @@
+package com.example.packageaggregator.client;
+
+import com.example.packageaggregator.exception.ExternalServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code client.calls} timer for one outbound dependency, tagged {@code operation} and {@code outcome}
+ * ({@code success}, {@code not_found}, {@code client_error}, {@code server_error}, {@code timeout},
+ * {@code unavailable}, {@code io_error}, {@code cancelled}, {@code error}). It measures the logical call as
+ * the caller sees it, including retries, hedges and bulkhead waits; single HTTP attempts are timed separately
+ * by Spring's {@code http.client.requests}. Publishes a percentile histogram so p95/p99 can be aggregated
+ * across instances.
+ */
+public class ClientCallMetrics {
+
+    private static final String METRIC = "client.calls";
+
+    private final String client;
+    private final MeterRegistry meterRegistry;
+
+    public ClientCallMetrics(String client, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> time(Mono<T> call, String operation) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .doOnSuccess(value -> sample.stop(timer(operation, "success")))
+                    .doOnError(e -> sample.stop(timer(operation, outcome(e))))
+                    .doOnCancel(() -> sample.stop(timer(operation, "cancelled")));
+        });
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Outbound calls to " + client + ", including retries and hedged attempts")
+                .tag("client", client)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof WebClientResponseException.NotFound) {
+            return "not_found";
+        }
+        if (e instanceof WebClientResponseException) {
+            return ((WebClientResponseException) e).getStatusCode().is5xxServerError() ? "server_error" : "client_error";
+        }
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof ExternalServiceUnavailableException) {
+            return "unavailable";
+        }
+        if (e instanceof WebClientRequestException) {
+            return "io_error";
+        }
+        return "error";
+    }
+}
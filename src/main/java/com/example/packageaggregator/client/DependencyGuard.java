@@ -0,0 +1,107 @@
+package com.example.packageaggregator.client;
+
+import com.example.packageaggregator.exception.ExternalServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resilience policy for all outbound calls to one dependency, applied per attempt as
+ * retry(bulkhead(circuit breaker(call))):
+ * <ul>
+ *   <li>the bulkhead caps calls in flight, rejecting the excess immediately instead of queueing threads. It sits
+ *   outside the breaker, so a burst of our own rejections never counts as the dependency failing;</li>
+ *   <li>the circuit breaker fails fast while the dependency is unhealthy;</li>
+ *   <li>transient failures are retried with jittered exponential backoff, within a shared {@link RetryBudget}.</li>
+ * </ul>
+ * Rejections surface as {@link ExternalServiceUnavailableException} (503). Breaker state and bulkhead
+ * gauges are published by resilience4j; rejections are counted in {@code client.rejections}.
+ */
+@Slf4j
+public class DependencyGuard {
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RetryBudget retryBudget;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadRejections;
+
+    public DependencyGuard(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead, RetryBudget retryBudget,
+                           int maxRetries, Duration minBackoff, Duration maxBackoff, double jitter,
+                           MeterRegistry meterRegistry) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.retryBudget = retryBudget;
+        this.maxRetries = maxRetries;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.jitter = jitter;
+        this.circuitOpenRejections = Counter.builder("client.rejections")
+                .description("Calls rejected without reaching the dependency")
+                .tag("client", name)
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.bulkheadRejections = Counter.builder("client.rejections")
+                .description("Calls rejected without reaching the dependency")
+                .tag("client", name)
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> protect(Mono<T> call, String operation) {
+        return Mono.defer(() -> {
+            retryBudget.recordCall();
+            return call
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .retryWhen(Retry.backoff(maxRetries, minBackoff)
+                            .maxBackoff(maxBackoff)
+                            .jitter(jitter)
+                            .filter(e -> isTransient(e) && retryBudget.tryAcquireRetry())
+                            .doBeforeRetry(s -> log.warn("Retrying {} {} (attempt {}) after: {}",
+                                    name, operation, s.totalRetries() + 2, s.failure().toString()))
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .onErrorMap(CallNotPermittedException.class, e -> {
+                        circuitOpenRejections.increment();
+                        return new ExternalServiceUnavailableException("The " + name + " service is unavailable (circuit open).", e);
+                    })
+                    .onErrorMap(BulkheadFullException.class, e -> {
+                        bulkheadRejections.increment();
+                        return new ExternalServiceUnavailableException("The " + name + " service is overloaded; try again shortly.", e);
+                    });
+        });
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /** Worth retrying: server errors, timeouts and connection failures. Never 4xx or our own rejections. */
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            return ((WebClientResponseException) e).getStatusCode().is5xxServerError();
+        }
+        return e instanceof ExternalServiceUnavailableException
+                || e instanceof WebClientRequestException
+                || e instanceof TimeoutException;
+    }
+}
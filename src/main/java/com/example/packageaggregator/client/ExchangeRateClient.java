@@ -3,71 +3,222 @@ package com.example.packageaggregator.client;
 import com.example.packageaggregator.config.CacheConfig;
 import com.example.packageaggregator.client.dto.ExchangeRateResponse;
 import com.example.packageaggregator.exception.ExternalServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Frankfurter client. All USD rates are fetched with one {@code /latest?from=USD} call into an immutable
+ * {@link RateTable}, refreshed on a schedule and swapped in atomically, so a rate lookup is a map read.
+ * A failed refresh keeps the previous table; it is served until it is older than
+ * {@code exchange-rate.max-staleness}, after which lookups fail with {@link ExternalServiceUnavailableException}.
+ * The table and the currency list are persisted by {@link CatalogSnapshotStore}, so a restart starts from the
+ * last known good data (still subject to the staleness limit).
+ */
 @Component
 @Slf4j
 public class ExchangeRateClient {
 
+    private static final String BASE_CURRENCY = "USD";
+    private static final Duration CURRENCIES_TTL = Duration.ofHours(1);
+
     private final WebClient exchangeRateWebClient;
+    private final DependencyGuard exchangeRateGuard;
+    private final CatalogSnapshotStore snapshotStore;
+    private final Duration requestTimeout;
+    private final Duration maxStaleness;
+    private final AtomicReference<RateTable> rateTable = new AtomicReference<>();
+    private final InFlightRequestRegistry<String, RateTable> inFlightRefreshes;
+    private final ClientCallMetrics callMetrics;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+    private final Mono<Map<String, String>> cachedCurrencies;
 
-    public ExchangeRateClient(@Qualifier("exchangeRateWebClient") WebClient exchangeRateWebClient) {
+    public ExchangeRateClient(@Qualifier("exchangeRateWebClient") WebClient exchangeRateWebClient,
+                              @Qualifier("exchangeRateGuard") DependencyGuard exchangeRateGuard,
+                              MeterRegistry meterRegistry,
+                              CatalogSnapshotStore snapshotStore,
+                              @Value("${exchange-rate.request-timeout:5s}") Duration requestTimeout,
+                              @Value("${exchange-rate.max-staleness:24h}") Duration maxStaleness) {
         this.exchangeRateWebClient = exchangeRateWebClient;
+        this.exchangeRateGuard = exchangeRateGuard;
+        this.snapshotStore = snapshotStore;
+        this.requestTimeout = requestTimeout;
+        this.maxStaleness = maxStaleness;
+        this.inFlightRefreshes = new InFlightRequestRegistry<>("exchangeRate", meterRegistry);
+        this.callMetrics = new ClientCallMetrics("exchangeRate", meterRegistry);
+        this.cachedCurrencies = requestCurrencies().cache(currencies -> CURRENCIES_TTL, e -> Duration.ZERO, () -> Duration.ZERO);
+        this.refreshSuccesses = Counter.builder("exchange.rates.refreshes")
+                .description("Rate table refresh attempts")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("exchange.rates.refreshes")
+                .description("Rate table refresh attempts")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        Gauge.builder("exchange.rates.age", rateTable, ref -> ref.get() != null
+                        ? ref.get().age(Instant.now()).toMillis() / 1000.0
+                        : Double.NaN)
+                .description("Time since the rate table being served was fetched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        RateTable lastKnown = snapshotStore.get().getRateTable();
+        if (lastKnown != null) {
+            rateTable.set(lastKnown);
+            log.info("Serving exchange rates from snapshot fetched at {} until the next refresh", lastKnown.getFetchedAt());
+        }
     }
 
-    @Cacheable(value = CacheConfig.EXCHANGE_RATE_CACHE, cacheManager = "exchangeRateCacheManager", key = "#currency")
     public BigDecimal getRateUsdTo(String currency) {
-        if ("USD".equalsIgnoreCase(currency)) {
+        if (BASE_CURRENCY.equalsIgnoreCase(currency)) {
             return BigDecimal.ONE;
         }
+        return getRateTable().rateFor(currency)
+                .orElseThrow(() -> new ExternalServiceUnavailableException("No rate for currency: " + currency));
+    }
+
+    /**
+     * Returns the rate table being served. Only the very first call (before the scheduled refresh has
+     * completed once) waits for Frankfurter.
+     */
+    public RateTable getRateTable() {
+        RateTable table = rateTable.get();
+        if (table == null) {
+            table = loadRateTable();
+        }
+        return requireFresh(table);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getRateUsdTo(String)} for the reactive stack. A map read once the table is
+     * loaded; only lookups before the first refresh wait for Frankfurter, sharing a single call.
+     */
+    public Mono<BigDecimal> findRateUsdTo(String currency) {
+        if (BASE_CURRENCY.equalsIgnoreCase(currency)) {
+            return Mono.just(BigDecimal.ONE);
+        }
+        return Mono.defer(() -> {
+            RateTable table = rateTable.get();
+            return table != null ? Mono.just(table) : inFlightRefreshes.execute(BASE_CURRENCY, this::fetchRateTable);
+        }).map(table -> requireFresh(table).rateFor(currency)
+                .orElseThrow(() -> new ExternalServiceUnavailableException("No rate for currency: " + currency)));
+    }
+
+    private RateTable requireFresh(RateTable table) {
+        if (table.age(Instant.now()).compareTo(maxStaleness) > 0) {
+            throw new ExternalServiceUnavailableException("Exchange rates are stale (last refreshed " + table.getFetchedAt() + ")");
+        }
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${exchange-rate.refresh-interval:PT15M}")
+    public void refreshRates() {
         try {
-            ExchangeRateResponse response = exchangeRateWebClient.get()
-                    .uri(uriBuilder -> uriBuilder.path("/latest").queryParam("from", "USD").queryParam("to", currency).build())
-                    .retrieve()
-                    .bodyToMono(ExchangeRateResponse.class)
-                    .block();
-            return Optional.ofNullable(response)
-                    .map(ExchangeRateResponse::getRates)
-                    .map(rates -> rates.get(currency))
-                    .orElseThrow(() -> new ExternalServiceUnavailableException("No rate for currency: " + currency));
-        } catch (WebClientResponseException e) {
-            log.error("Exchange rate API error for {}: {}", currency, e.getStatusCode());
-            throw new ExternalServiceUnavailableException("Exchange rate service unavailable: " + e.getMessage(), e);
+            loadRateTable();
+        } catch (ExternalServiceUnavailableException e) {
+            RateTable current = rateTable.get();
+            log.warn("Exchange rate refresh failed, still serving rates fetched at {}: {}",
+                    current != null ? current.getFetchedAt() : "never", e.getMessage());
+        }
+    }
+
+    private RateTable loadRateTable() {
+        try {
+            return inFlightRefreshes.execute(BASE_CURRENCY, this::fetchRateTable).block();
+        } catch (ExternalServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to fetch exchange rate for {}: {}", currency, e.getMessage());
             throw new ExternalServiceUnavailableException("Exchange rate service unavailable: " + e.getMessage(), e);
         }
     }
 
+    private Mono<RateTable> fetchRateTable() {
+        Mono<ExchangeRateResponse> call = exchangeRateWebClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/latest").queryParam("from", BASE_CURRENCY).build())
+                .retrieve()
+                .bodyToMono(ExchangeRateResponse.class)
+                .timeout(requestTimeout);
+        return callMetrics.time(exchangeRateGuard.protect(call, "getRates"), "getRates")
+                .filter(response -> response.getRates() != null && !response.getRates().isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ExternalServiceUnavailableException("Exchange rate service returned no rates")))
+                .map(response -> new RateTable(response.getRates(), response.getDate(), Instant.now()))
+                .doOnNext(table -> {
+                    rateTable.set(table);
+                    snapshotStore.saveRateTable(table);
+                    refreshSuccesses.increment();
+                    log.info("Loaded {} exchange rates published {}", table.getRates().size(), table.getDate());
+                })
+                .doOnError(e -> refreshFailures.increment())
+                .onErrorMap(e -> !(e instanceof ExternalServiceUnavailableException), e -> {
+                    if (e instanceof WebClientResponseException) {
+                        log.error("Exchange rate API error: {}", ((WebClientResponseException) e).getStatusCode());
+                    } else {
+                        log.error("Failed to fetch exchange rates: {}", e.getMessage());
+                    }
+                    return new ExternalServiceUnavailableException("Exchange rate service unavailable: " + e.getMessage(), e);
+                });
+    }
+
     /**
      * Fetches the list of supported currencies from Frankfurter (code -> name).
-     * Cached to avoid repeated calls.
+     * Cached to avoid repeated calls; falls back to the on-disk snapshot while Frankfurter is down.
      */
     @Cacheable(value = CacheConfig.CURRENCIES_CACHE, cacheManager = "exchangeRateCacheManager", key = "'all'")
     public Map<String, String> getCurrencies() {
         try {
-            Map<String, String> map = exchangeRateWebClient.get()
-                    .uri("/currencies")
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {})
-                    .block();
-            return map != null ? map : Map.of();
-        } catch (WebClientResponseException e) {
-            log.error("Currencies API error: {}", e.getStatusCode());
-            throw new ExternalServiceUnavailableException("Currencies service unavailable: " + e.getMessage(), e);
+            return requestCurrencies().block();
         } catch (Exception e) {
+            return lastKnownCurrencies(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getCurrencies()} for the reactive stack. Successful responses are cached
+     * for the same hour as the Spring cache; failures are not cached and fall back to the snapshot.
+     */
+    public Mono<Map<String, String>> findCurrencies() {
+        return cachedCurrencies.onErrorResume(e -> Mono.fromCallable(() -> lastKnownCurrencies(e)));
+    }
+
+    private Mono<Map<String, String>> requestCurrencies() {
+        Mono<Map<String, String>> call = exchangeRateWebClient.get()
+                .uri("/currencies")
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {})
+                .timeout(requestTimeout);
+        return callMetrics.time(exchangeRateGuard.protect(call, "getCurrencies"), "getCurrencies")
+                .doOnNext(snapshotStore::saveCurrencies)
+                .defaultIfEmpty(Map.of());
+    }
+
+    private Map<String, String> lastKnownCurrencies(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            log.error("Currencies API error: {}", ((WebClientResponseException) e).getStatusCode());
+        } else {
             log.error("Failed to fetch currencies: {}", e.getMessage());
-            throw new ExternalServiceUnavailableException("Currencies service unavailable: " + e.getMessage(), e);
         }
+        Map<String, String> lastKnown = snapshotStore.get().getCurrencies();
+        if (lastKnown != null) {
+            log.warn("Serving last known currency list");
+            return lastKnown;
+        }
+        throw new ExternalServiceUnavailableException("Currencies service unavailable: " + e.getMessage(), e);
     }
 }
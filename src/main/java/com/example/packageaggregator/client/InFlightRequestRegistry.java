@@ -0,0 +1,77 @@
+package com.example.packageaggregator.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry for outbound calls: concurrent callers asking for the same key share one outstanding
+ * call and receive its result or failure. The entry is removed as soon as the call terminates, so nothing is
+ * cached here; a caller arriving afterwards starts a new call.
+ * <p>
+ * Publishes {@code client.inflight.calls} counters tagged {@code role=leader} (calls actually sent) and
+ * {@code role=coalesced} (callers that joined an outstanding call), plus a {@code client.inflight.size} gauge.
+ */
+public class InFlightRequestRegistry<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public InFlightRequestRegistry(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("client.inflight.calls")
+                .description("Outbound calls started by the single-flight registry")
+                .tag("client", name)
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("client.inflight.calls")
+                .description("Callers that joined an outstanding call instead of starting their own")
+                .tag("client", name)
+                .tag("role", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("client.inflight.size", inFlight, Map::size)
+                .description("Keys with an outstanding call")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the outstanding call for {@code key}, or starts one with {@code call} if there is none.
+     * The call is started lazily, on first subscription.
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> shared = Mono.defer(call)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(shared);
+            Mono<V> raced = inFlight.putIfAbsent(key, shared);
+            if (raced != null) {
+                coalesced.increment();
+                return raced;
+            }
+            leaders.increment();
+            return shared;
+        });
+    }
+
+    public long leaderCount() {
+        return (long) leaders.count();
+    }
+
+    public long coalescedCount() {
+        return (long) coalesced.count();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.packageaggregator.client;
+
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Product catalog cache owned by {@link ProductClient}. Replaces the former {@code @Cacheable} annotations,
+ * which were bypassed whenever {@code ProductClient} called its own cached methods.
+ * <ul>
+ *   <li>Per-id entries: {@link #getAll(Collection)} loads only the missing ids, in one bulk call.</li>
+ *   <li>Full catalog (for {@code GET /products}): one entry; loading it also warms the per-id entries.</li>
+ * </ul>
+ * Entries older than {@code refreshAfterWrite} are reloaded in the background on their next read while the
+ * current value keeps being served, so hot products never expire in front of a user. If a refresh fails the
+ * old value stays until {@code expireAfterWrite}. Hit/miss/load metrics are published as {@code cache.*} with
+ * {@code cache=products} and {@code cache=productCatalog}.
+ */
+@Slf4j
+public class ProductCatalogCache {
+
+    private static final String CATALOG_KEY = "catalog";
+
+    private final AsyncLoadingCache<String, ExternalProductResponse> products;
+    private final AsyncLoadingCache<String, List<ExternalProductResponse>> catalog;
+
+    public ProductCatalogCache(Function<String, Mono<ExternalProductResponse>> productLoader,
+                               Function<Set<String>, Mono<Map<String, ExternalProductResponse>>> bulkLoader,
+                               Supplier<Mono<List<ExternalProductResponse>>> catalogLoader,
+                               long maximumSize, Duration refreshAfterWrite, Duration expireAfterWrite,
+                               MeterRegistry meterRegistry) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<String, ExternalProductResponse>() {
+                    @Override
+                    public CompletableFuture<ExternalProductResponse> asyncLoad(String id, Executor executor) {
+                        return productLoader.apply(id).toFuture();
+                    }
+
+                    @Override
+                    public CompletableFuture<Map<String, ExternalProductResponse>> asyncLoadAll(
+                            Iterable<? extends String> ids, Executor executor) {
+                        Set<String> missing = new HashSet<>();
+                        ids.forEach(missing::add);
+                        log.debug("Loading {} product(s) missing from cache", missing.size());
+                        return bulkLoader.apply(missing).toFuture();
+                    }
+                });
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync((key, executor) -> catalogLoader.get()
+                        .doOnNext(this::warmProducts)
+                        .toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, products.synchronous(), "products");
+        CaffeineCacheMetrics.monitor(meterRegistry, catalog.synchronous(), "productCatalog");
+    }
+
+    public Mono<ExternalProductResponse> get(String id) {
+        return Mono.fromFuture(products.get(id));
+    }
+
+    /**
+     * Returns the cached products for {@code ids}, loading the missing ones with a single bulk call.
+     * Ids the product service does not know are absent from the result.
+     */
+    public Mono<Map<String, ExternalProductResponse>> getAll(Collection<String> ids) {
+        return Mono.fromFuture(products.getAll(ids));
+    }
+
+    public Mono<List<ExternalProductResponse>> getCatalog() {
+        return Mono.fromFuture(catalog.get(CATALOG_KEY));
+    }
+
+    /**
+     * Serves {@code products} (e.g. from the on-disk snapshot) as the catalog right away and reloads it in the
+     * background. Per-id entries are not warmed from it, so packages are never priced from old data.
+     */
+    public void seedCatalog(List<ExternalProductResponse> products) {
+        catalog.synchronous().put(CATALOG_KEY, products);
+        catalog.synchronous().refresh(CATALOG_KEY);
+    }
+
+    private void warmProducts(List<ExternalProductResponse> all) {
+        Map<String, ExternalProductResponse> byId = new LinkedHashMap<>();
+        for (ExternalProductResponse product : all) {
+            if (product.getId() != null) {
+                byId.put(product.getId(), product);
+            }
+        }
+        products.synchronous().putAll(byId);
+    }
+}
@@ -1,114 +1,195 @@
 package com.example.packageaggregator.client;
 
-import com.example.packageaggregator.config.CacheConfig;
 import com.example.packageaggregator.client.dto.ExternalProductResponse;
 import com.example.packageaggregator.exception.ExternalServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.util.retry.Retry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
 @Component
 @Slf4j
 public class ProductClient {
 
-    private static final int MAX_RETRIES = 2;
-
     private final WebClient productWebClient;
+    private final DependencyGuard productGuard;
+    private final RequestHedger productHedger;
+    private final InFlightRequestRegistry<String, ExternalProductResponse> inFlightProducts;
+    private final ProductCatalogCache catalogCache;
+    private final CatalogSnapshotStore snapshotStore;
+    private final ClientCallMetrics callMetrics;
+    private final int maxConcurrency;
+    private final Duration batchTimeout;
 
-    public ProductClient(@Qualifier("productWebClient") WebClient productWebClient) {
+    public ProductClient(@Qualifier("productWebClient") WebClient productWebClient,
+                         @Qualifier("productGuard") DependencyGuard productGuard,
+                         @Qualifier("productHedger") RequestHedger productHedger,
+                         MeterRegistry meterRegistry,
+                         CatalogSnapshotStore snapshotStore,
+                         @Value("${product-client.fan-out.max-concurrency:8}") int maxConcurrency,
+                         @Value("${product-client.fan-out.batch-timeout:10s}") Duration batchTimeout,
+                         @Value("${product-client.cache.maximum-size:500}") long cacheMaximumSize,
+                         @Value("${product-client.cache.refresh-after-write:10m}") Duration cacheRefreshAfterWrite,
+                         @Value("${product-client.cache.expire-after-write:30m}") Duration cacheExpireAfterWrite) {
         this.productWebClient = productWebClient;
+        this.productGuard = productGuard;
+        this.productHedger = productHedger;
+        this.inFlightProducts = new InFlightRequestRegistry<>("product", meterRegistry);
+        this.callMetrics = new ClientCallMetrics("product", meterRegistry);
+        this.maxConcurrency = maxConcurrency;
+        this.batchTimeout = batchTimeout;
+        this.snapshotStore = snapshotStore;
+        this.catalogCache = new ProductCatalogCache(this::fetchProduct, this::fetchProducts, this::fetchCatalog,
+                cacheMaximumSize, cacheRefreshAfterWrite, cacheExpireAfterWrite, meterRegistry);
+        List<ExternalProductResponse> lastKnownCatalog = snapshotStore.get().getProducts();
+        if (lastKnownCatalog != null) {
+            log.info("Serving {} product(s) from snapshot until the catalog is reloaded", lastKnownCatalog.size());
+            catalogCache.seedCatalog(lastKnownCatalog);
+        }
     }
 
-
     /**
-     * Fetches multiple products by id in parallel. Uses the same cache as {@link #getProductById(String)},
-     * so repeated or duplicate ids are served from cache. Reduces wall-clock time vs sequential calls.
-     * Any HTTP/timeout/5xx failure from the external API is translated to {@link ExternalServiceUnavailableException}
-     * so the API returns 503 (dependency unavailable), not 500.
+     * Returns the requested products, served from {@link ProductCatalogCache} where possible; the missing ids
+     * are fetched in parallel over the WebClient event loop, with at most
+     * {@code product-client.fan-out.max-concurrency} requests in flight and one deadline for the whole batch,
+     * so large packages do not open one connection per id. Ids the external API does not know (404) are
+     * absent from the result. Any HTTP/timeout/5xx failure from the external API is translated to
+     * {@link ExternalServiceUnavailableException} so the API returns 503 (dependency unavailable), not 500.
      */
     public Map<String, ExternalProductResponse> getProductsByIds(List<String> ids) {
         if (ids == null || ids.isEmpty()) {
             return Map.of();
         }
         try {
-            List<CompletableFuture<Map.Entry<String, ExternalProductResponse>>> futures = ids.stream()
-                    .distinct()
-                    .map(id -> CompletableFuture.supplyAsync(() -> Map.entry(id, getProductById(id))))
-                    .collect(Collectors.toList());
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-            return futures.stream()
-                    .map(CompletableFuture::join)
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a));
+            return findProductsByIds(ids).block();
+        } catch (ExternalServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
-            if (cause instanceof ExternalServiceUnavailableException) {
-                throw (ExternalServiceUnavailableException) cause;
-            }
-            log.error("Product service unavailable during batch fetch: {}", cause != null ? cause.getMessage() : e.getMessage());
-            throw new ExternalServiceUnavailableException("The product service is temporarily unavailable.", cause != null ? cause : e);
+            throw batchFailure(ids.size(), Exceptions.unwrap(e));
         }
     }
 
-    @Cacheable(CacheConfig.PRODUCT_CACHE)
     public ExternalProductResponse getProductById(String id) {
         try {
-            return productWebClient.get()
-                    .uri("/products/{id}", id)
-                    .retrieve()
-                    .onStatus(HttpStatus::is5xxServerError, resp -> resp.bodyToMono(String.class)
-                            .map(body -> new ExternalServiceUnavailableException("Product service error: " + body)))
-                    .bodyToMono(ExternalProductResponse.class)
-                    .retryWhen(Retry.fixedDelay(MAX_RETRIES, Duration.ofMillis(500))
-                            .filter(throwable -> throwable instanceof WebClientResponseException
-                                    && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError())
-                            .doBeforeRetry(s -> log.warn("Retrying product fetch for id {} after failure", id)))
-                    .block();
+            return catalogCache.get(id).block();
+        } catch (ExternalServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to fetch product id {}: {}", id, e.getMessage());
-            if (e instanceof ExternalServiceUnavailableException) {
-                throw (ExternalServiceUnavailableException) e;
-            }
             throw new ExternalServiceUnavailableException("Product service unavailable: " + e.getMessage(), e);
         }
     }
 
     /**
      * Fetches all products from the external catalog for display/selection (e.g. when building a package).
-     * Cached to reduce load on the external API.
+     * Cached (and refreshed in the background) to reduce load on the external API, and falls back to the
+     * on-disk snapshot while the product service is down.
      */
-    @Cacheable(value = CacheConfig.PRODUCT_CACHE, key = "'list'")
     public List<ExternalProductResponse> getProducts() {
         try {
-            return productWebClient.get()
-                    .uri("/products")
-                    .retrieve()
-                    .onStatus(HttpStatus::is5xxServerError, resp -> resp.bodyToMono(String.class)
-                            .map(body -> new ExternalServiceUnavailableException("Product service error: " + body)))
-                    .bodyToMono(new ParameterizedTypeReference<List<ExternalProductResponse>>() {})
-                    .retryWhen(Retry.fixedDelay(MAX_RETRIES, Duration.ofMillis(500))
-                            .filter(throwable -> throwable instanceof WebClientResponseException
-                                    && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError())
-                            .doBeforeRetry(s -> log.warn("Retrying product list fetch after failure")))
-                    .block();
+            return findProducts().block();
+        } catch (ExternalServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to fetch product list: {}", e.getMessage());
-            if (e instanceof ExternalServiceUnavailableException) {
-                throw (ExternalServiceUnavailableException) e;
-            }
             throw new ExternalServiceUnavailableException("Product service unavailable: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Non-blocking variant of {@link #getProductsByIds(List)}, failing with the same
+     * {@link ExternalServiceUnavailableException}s.
+     */
+    public Mono<Map<String, ExternalProductResponse>> findProductsByIds(Collection<String> ids) {
+        return catalogCache.getAll(new LinkedHashSet<>(ids))
+                .timeout(batchTimeout)
+                .onErrorMap(e -> !(e instanceof ExternalServiceUnavailableException), e -> batchFailure(ids.size(), e));
+    }
+
+    private ExternalServiceUnavailableException batchFailure(int count, Throwable cause) {
+        if (cause instanceof TimeoutException) {
+            log.error("Product batch fetch of {} id(s) exceeded {}", count, batchTimeout);
+            return new ExternalServiceUnavailableException("The product service did not respond in time.", cause);
+        }
+        log.error("Product service unavailable during batch fetch: {}", cause.getMessage());
+        return new ExternalServiceUnavailableException("The product service is temporarily unavailable.", cause);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getProducts()}. While the product service is unavailable and the cached
+     * catalog has expired, the last catalog persisted by {@link CatalogSnapshotStore} is served instead.
+     */
+    public Mono<List<ExternalProductResponse>> findProducts() {
+        return catalogCache.getCatalog()
+                .defaultIfEmpty(List.of())
+                .onErrorResume(ExternalServiceUnavailableException.class, e -> {
+                    List<ExternalProductResponse> lastKnownCatalog = snapshotStore.get().getProducts();
+                    if (lastKnownCatalog == null) {
+                        return Mono.error(e);
+                    }
+                    log.warn("Product service unavailable, serving last known catalog: {}", e.getMessage());
+                    return Mono.just(lastKnownCatalog);
+                });
+    }
+
+    /**
+     * Uncached, non-blocking fetch of a single product. Completes empty when the external API answers 404 and
+     * with {@link ExternalServiceUnavailableException} on any other failure. Concurrent fetches of the same id
+     * (e.g. parallel package creations on a cold cache) share one outstanding request.
+     */
+    public Mono<ExternalProductResponse> fetchProduct(String id) {
+        return inFlightProducts.execute(id, () -> requestProduct(id));
+    }
+
+    private Mono<Map<String, ExternalProductResponse>> fetchProducts(Set<String> ids) {
+        return BoundedFanOut.fetchAll(ids, this::fetchProduct, maxConcurrency, batchTimeout);
+    }
+
+    private Mono<ExternalProductResponse> requestProduct(String id) {
+        Mono<ExternalProductResponse> call = productHedger.hedge(() -> productWebClient.get()
+                .uri("/products/{id}", id)
+                .retrieve()
+                .onStatus(HttpStatus::is5xxServerError, resp -> resp.bodyToMono(String.class)
+                        .map(body -> new ExternalServiceUnavailableException("Product service error: " + body)))
+                .bodyToMono(ExternalProductResponse.class));
+        return callMetrics.time(productGuard.protect(call, "getProduct"), "getProduct")
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.warn("Product id {} not found in external catalog", id);
+                    return Mono.empty();
+                })
+                .onErrorMap(e -> !(e instanceof ExternalServiceUnavailableException), e -> {
+                    log.error("Failed to fetch product id {}: {}", id, e.getMessage());
+                    return new ExternalServiceUnavailableException("Product service unavailable: " + e.getMessage(), e);
+                });
+    }
+
+    private Mono<List<ExternalProductResponse>> fetchCatalog() {
+        Mono<List<ExternalProductResponse>> call = productWebClient.get()
+                .uri("/products")
+                .retrieve()
+                .onStatus(HttpStatus::is5xxServerError, resp -> resp.bodyToMono(String.class)
+                        .map(body -> new ExternalServiceUnavailableException("Product service error: " + body)))
+                .bodyToMono(new ParameterizedTypeReference<List<ExternalProductResponse>>() {});
+        return callMetrics.time(productGuard.protect(call, "getProducts"), "getProducts")
+                .map(List::copyOf)
+                .doOnNext(snapshotStore::saveProducts)
+                .onErrorMap(e -> !(e instanceof ExternalServiceUnavailableException), e -> {
+                    log.error("Failed to fetch product list: {}", e.getMessage());
+                    return new ExternalServiceUnavailableException("Product service unavailable: " + e.getMessage(), e);
+                });
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.packageaggregator.client;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of every USD exchange rate published by Frankfurter at one point in time.
+ * {@link ExchangeRateClient} swaps in a new instance after each successful refresh.
+ */
+@Getter
+public final class RateTable {
+
+    private static final String BASE_CURRENCY = "USD";
+
+    /** Currency code (upper case) to rate for 1 USD; always contains USD = 1. */
+    private final Map<String, BigDecimal> rates;
+    /** Publication date reported by the provider (e.g. 2024-05-17). */
+    private final String date;
+    private final Instant fetchedAt;
+
+    public RateTable(Map<String, BigDecimal> rates, String date, Instant fetchedAt) {
+        Map<String, BigDecimal> normalized = new HashMap<>();
+        rates.forEach((code, rate) -> normalized.put(code.toUpperCase(Locale.ROOT), rate));
+        normalized.put(BASE_CURRENCY, BigDecimal.ONE);
+        this.rates = Map.copyOf(normalized);
+        this.date = date;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public Optional<BigDecimal> rateFor(String currency) {
+        return Optional.ofNullable(rates.get(currency.toUpperCase(Locale.ROOT)));
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+}
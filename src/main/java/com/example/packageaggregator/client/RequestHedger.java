@@ -0,0 +1,129 @@
+package com.example.packageaggregator.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests: if an attempt has not completed after the observed {@code percentile} latency of recent
+ * successful attempts, a second identical attempt is sent; the first to succeed wins and the other is
+ * cancelled. The call fails only if every attempt sent fails. Hedges are bounded by a {@link RetryBudget} so a
+ * slow dependency never sees more than {@code budget-ratio} extra load. Until enough latencies have been
+ * observed, no hedges are sent.
+ * <p>
+ * Counts {@code client.hedges{outcome=sent|won}}.
+ */
+public class RequestHedger {
+
+    private static final int WINDOW = 256;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final RetryBudget budget;
+    private final Counter sent;
+    private final Counter won;
+
+    private final long[] latencies = new long[WINDOW];
+    private long samples;
+    private volatile long hedgeDelayNanos = -1;
+
+    public RequestHedger(String client, boolean enabled, double percentile, Duration minDelay,
+                         double budgetRatio, int budgetCapacity, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.budget = new RetryBudget("client.hedge.budget", client, budgetRatio, budgetCapacity, meterRegistry);
+        this.sent = Counter.builder("client.hedges")
+                .description("Hedged (backup) requests")
+                .tag("client", client)
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.won = Counter.builder("client.hedges")
+                .description("Hedged (backup) requests")
+                .tag("client", client)
+                .tag("outcome", "won")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code attempt} once, and once more if the first attempt is slower than the hedge delay.
+     * {@code attempt} must return a new cold call every time it is invoked.
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        return Mono.defer(() -> {
+            budget.recordCall();
+            Mono<T> first = timed(attempt.get());
+            long delay = hedgeDelayNanos;
+            if (delay < 0) {
+                return first;
+            }
+            // A failed attempt only decides the outcome once the other one has failed too, so a backup that is
+            // refused fast never cancels a healthy primary. A primary failing before the delay sends no backup.
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            AtomicReference<Throwable> firstError = new AtomicReference<>();
+            Mono<Signal<T>> primary = first.materialize()
+                    .doOnNext(signal -> {
+                        if (signal.isOnError()) {
+                            primaryFailed.tryEmitValue(true);
+                        }
+                    });
+            Mono<Signal<T>> backup = Mono.delay(Duration.ofNanos(delay))
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquireRetry()) {
+                            return Mono.<Signal<T>>empty();
+                        }
+                        sent.increment();
+                        return timed(attempt.get()).doOnNext(value -> won.increment()).materialize();
+                    });
+            return Flux.merge(primary, backup)
+                    .filter(signal -> {
+                        if (signal.isOnError()) {
+                            firstError.compareAndSet(null, signal.getThrowable());
+                            return false;
+                        }
+                        return true;
+                    })
+                    .next()
+                    .switchIfEmpty(Mono.defer(() -> Mono.error(firstError.get())))
+                    .dematerialize();
+        });
+    }
+
+    public Duration currentDelay() {
+        long delay = hedgeDelayNanos;
+        return delay < 0 ? null : Duration.ofNanos(delay);
+    }
+
+    private <T> Mono<T> timed(Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(value -> record(System.nanoTime() - start));
+        });
+    }
+
+    private synchronized void record(long nanos) {
+        latencies[(int) (samples % WINDOW)] = nanos;
+        samples++;
+        if (samples >= MIN_SAMPLES && samples % RECOMPUTE_EVERY == 0) {
+            long[] window = Arrays.copyOf(latencies, (int) Math.min(samples, WINDOW));
+            Arrays.sort(window);
+            int index = (int) Math.min(window.length - 1, Math.ceil(percentile * window.length) - 1);
+            hedgeDelayNanos = Math.max(minDelayNanos, window[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.packageaggregator.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket retry budget shared by every call to one dependency. Each first attempt deposits
+ * {@code ratio} tokens (up to {@code capacity}); each retry withdraws one. Retries therefore stay below
+ * roughly {@code ratio} of the traffic when the dependency browns out, instead of multiplying its load.
+ * Also used to bound hedged (backup) requests, under its own metric name.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerCall;
+    private final long capacity;
+    private final AtomicLong balance;
+    private final Counter granted;
+    private final Counter exhausted;
+
+    public RetryBudget(String client, double ratio, int capacity, MeterRegistry meterRegistry) {
+        this("client.retry.budget", client, ratio, capacity, meterRegistry);
+    }
+
+    public RetryBudget(String metricName, String client, double ratio, int capacity, MeterRegistry meterRegistry) {
+        this.depositPerCall = Math.round(ratio * SCALE);
+        this.capacity = capacity * SCALE;
+        this.balance = new AtomicLong(this.capacity);
+        this.granted = Counter.builder(metricName)
+                .description("Retries allowed or refused by the budget")
+                .tag("client", client)
+                .tag("outcome", "granted")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder(metricName)
+                .description("Retries allowed or refused by the budget")
+                .tag("client", client)
+                .tag("outcome", "exhausted")
+                .register(meterRegistry);
+        Gauge.builder(metricName + ".tokens", balance, b -> (double) b.get() / SCALE)
+                .description("Retries currently available in the budget")
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    public void recordCall() {
+        balance.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(capacity, current + deposit));
+    }
+
+    public boolean tryAcquireRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                exhausted.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                granted.increment();
+                return true;
+            }
+        }
+    }
+}
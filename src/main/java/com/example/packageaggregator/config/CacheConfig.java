@@ -6,34 +6,28 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
 
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Spring Cache managers for annotation-driven caches. Products are cached by
+ * {@link com.example.packageaggregator.client.ProductCatalogCache} instead (see {@code product-client.cache.*}) and
+ * exchange rates by the rate table in {@link com.example.packageaggregator.client.ExchangeRateClient}.
+ * Caches record stats, which Actuator binds to the {@code cache.*} metrics at startup.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    public static final String PRODUCT_CACHE = "products";
-    public static final String EXCHANGE_RATE_CACHE = "exchangeRates";
     public static final String CURRENCIES_CACHE = "currencies";
 
-    @Primary
-    @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PRODUCT_CACHE);
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .maximumSize(500));
-        return cacheManager;
-    }
-
     @Bean("exchangeRateCacheManager")
     public CacheManager exchangeRateCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EXCHANGE_RATE_CACHE, CURRENCIES_CACHE);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CURRENCIES_CACHE);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(1, TimeUnit.HOURS)
-                .maximumSize(100));
+                .maximumSize(100)
+                .recordStats());
         return cacheManager;
     }
 }
@@ -0,0 +1,58 @@
+package com.example.packageaggregator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-dependency HTTP client profiles ({@code http-clients.product.*}, {@code http-clients.exchange-rate.*})
+ * used by {@link WebClientConfig} to build each WebClient's Reactor Netty client and connection pool.
+ * Base URLs default to the production services; the load-test harness points them at its stubs.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-clients")
+public class HttpClientProperties {
+
+    private Profile product = new Profile("https://product-service.herokuapp.com/api/v1");
+    private Profile exchangeRate = new Profile("https://api.frankfurter.app");
+
+    @Getter
+    @Setter
+    public static class Profile {
+
+        /** Base URL that request paths are resolved against. */
+        private String baseUrl;
+        /** TCP connect timeout. */
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        /** Maximum time to wait for the response after the request is sent. */
+        private Duration responseTimeout = Duration.ofSeconds(3);
+        /** Maximum connections in the pool. */
+        private int maxConnections = 50;
+        /** Requests allowed to wait for a pooled connection; further requests fail immediately. */
+        private int maxPendingAcquires = 100;
+        /** Maximum time a request waits for a pooled connection. */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        /** Idle connections older than this are closed. */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        /** Connections are closed after this lifetime, even when busy, so DNS and load balancer changes apply. */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        /** How often idle and expired connections are evicted in the background. */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        /** HTTP keep-alive (connection reuse). */
+        private boolean keepAlive = true;
+        /** Negotiate HTTP/2 over TLS (ALPN), falling back to HTTP/1.1. Requires an https base URL. */
+        private boolean http2 = false;
+        /** Send Accept-Encoding: gzip and decompress responses. */
+        private boolean compression = true;
+
+        public Profile() {
+        }
+
+        public Profile(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+    }
+}
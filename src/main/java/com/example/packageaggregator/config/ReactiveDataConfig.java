@@ -0,0 +1,103 @@
+package com.example.packageaggregator.config;
+
+import com.example.packageaggregator.repository.reactive.PackageR2dbcRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * R2DBC for the {@code reactive} profile: a pooled connection factory on {@code spring.r2dbc.url}, which points
+ * at the same in-memory H2 database as the JPA data source, so JPA keeps creating the schema. UUID ids are
+ * stored as {@code VARBINARY(16)} (most significant bits first), matching Hibernate.
+ * <p>
+ * The JDBC data source is declared here as well: Boot's data source auto-configuration backs off as soon as a
+ * {@link ConnectionFactory} bean exists, and without it there would be no JPA and no schema.
+ * <p>
+ * The R2DBC transaction manager is not registered as a bean (JPA's would back off); it only backs
+ * {@link #reactiveTransactionalOperator}.
+ */
+@Configuration
+@Profile("reactive")
+@EnableR2dbcRepositories(basePackageClasses = PackageR2dbcRepository.class)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataConfig extends AbstractR2dbcConfiguration {
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    public ReactiveDataConfig(@Value("${spring.r2dbc.url}") String url,
+                              @Value("${spring.r2dbc.username:sa}") String username,
+                              @Value("${spring.r2dbc.password:}") String password) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * The same Hikari pool Boot would create from {@code spring.datasource.*} and {@code spring.datasource.hikari.*}.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Override
+    @Bean
+    public ConnectionFactory connectionFactory() {
+        return ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Override
+    protected List<Object> getCustomConverters() {
+        return List.of(new UuidToBytesConverter(), new BytesToUuidConverter());
+    }
+
+    @WritingConverter
+    static class UuidToBytesConverter implements Converter<UUID, byte[]> {
+        @Override
+        public byte[] convert(UUID source) {
+            return ByteBuffer.allocate(16)
+                    .putLong(source.getMostSignificantBits())
+                    .putLong(source.getLeastSignificantBits())
+                    .array();
+        }
+    }
+
+    @ReadingConverter
+    static class BytesToUuidConverter implements Converter<byte[], UUID> {
+        @Override
+        public UUID convert(byte[] source) {
+            ByteBuffer buffer = ByteBuffer.wrap(source);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.packageaggregator.config;
+
+import com.example.packageaggregator.client.DependencyGuard;
+import com.example.packageaggregator.client.RequestHedger;
+import com.example.packageaggregator.client.RetryBudget;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * One {@link DependencyGuard} per external dependency. Circuit breaker and bulkhead settings are bound by
+ * resilience4j from {@code resilience4j.circuitbreaker.instances.<name>.*} and
+ * {@code resilience4j.bulkhead.instances.<name>.*}; retry settings from {@code <client>.retry.*}.
+ * Product fetches can additionally be hedged ({@code product-client.hedging.*}).
+ */
+@Configuration
+public class ResilienceConfig {
+
+    public static final String PRODUCT = "product";
+    public static final String EXCHANGE_RATE = "exchangeRate";
+
+    @Bean
+    public DependencyGuard productGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                                        BulkheadRegistry bulkheadRegistry,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${product-client.retry.max-retries:2}") int maxRetries,
+                                        @Value("${product-client.retry.min-backoff:200ms}") Duration minBackoff,
+                                        @Value("${product-client.retry.max-backoff:2s}") Duration maxBackoff,
+                                        @Value("${product-client.retry.jitter:0.5}") double jitter,
+                                        @Value("${product-client.retry.budget-ratio:0.2}") double budgetRatio,
+                                        @Value("${product-client.retry.budget-capacity:20}") int budgetCapacity) {
+        return new DependencyGuard(PRODUCT,
+                circuitBreakerRegistry.circuitBreaker(PRODUCT),
+                bulkheadRegistry.bulkhead(PRODUCT),
+                new RetryBudget(PRODUCT, budgetRatio, budgetCapacity, meterRegistry),
+                maxRetries, minBackoff, maxBackoff, jitter, meterRegistry);
+    }
+
+    @Bean
+    public RequestHedger productHedger(MeterRegistry meterRegistry,
+                                       @Value("${product-client.hedging.enabled:false}") boolean enabled,
+                                       @Value("${product-client.hedging.percentile:0.95}") double percentile,
+                                       @Value("${product-client.hedging.min-delay:50ms}") Duration minDelay,
+                                       @Value("${product-client.hedging.budget-ratio:0.1}") double budgetRatio,
+                                       @Value("${product-client.hedging.budget-capacity:10}") int budgetCapacity) {
+        return new RequestHedger(PRODUCT, enabled, percentile, minDelay, budgetRatio, budgetCapacity, meterRegistry);
+    }
+
+    @Bean
+    public DependencyGuard exchangeRateGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                                             BulkheadRegistry bulkheadRegistry,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${exchange-rate.retry.max-retries:2}") int maxRetries,
+                                             @Value("${exchange-rate.retry.min-backoff:500ms}") Duration minBackoff,
+                                             @Value("${exchange-rate.retry.max-backoff:5s}") Duration maxBackoff,
+                                             @Value("${exchange-rate.retry.jitter:0.5}") double jitter,
+                                             @Value("${exchange-rate.retry.budget-ratio:0.2}") double budgetRatio,
+                                             @Value("${exchange-rate.retry.budget-capacity:5}") int budgetCapacity) {
+        return new DependencyGuard(EXCHANGE_RATE,
+                circuitBreakerRegistry.circuitBreaker(EXCHANGE_RATE),
+                bulkheadRegistry.bulkhead(EXCHANGE_RATE),
+                new RetryBudget(EXCHANGE_RATE, budgetRatio, budgetCapacity, meterRegistry),
+                maxRetries, minBackoff, maxBackoff, jitter, meterRegistry);
+    }
+}
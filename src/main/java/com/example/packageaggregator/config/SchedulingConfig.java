@@ -0,0 +1,12 @@
+package com.example.packageaggregator.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background refreshes (e.g. the exchange-rate table).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
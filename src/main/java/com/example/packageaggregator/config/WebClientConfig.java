@@ -1,40 +1,48 @@
 package com.example.packageaggregator.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+/**
+ * WebClients for the external dependencies, each with its own connection pool and timeouts from
+ * {@link HttpClientProperties}. Reactor Netty publishes pool gauges ({@code reactor.netty.connection.provider.*},
+ * including pending-acquire time) and client timers ({@code reactor.netty.http.client.*}) to Micrometer;
+ * connection churn is counted in {@code http.client.connections{event=opened|closed}}.
+ */
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class WebClientConfig {
 
-    private static final String PRODUCT_SERVICE_BASE_URL = "https://product-service.herokuapp.com/api/v1";
-    private static final int TIMEOUT_SECONDS = 3;
+    /** Keeps metric tags low-cardinality: no query strings, no product ids. */
+    private static final Function<String, String> URI_TAG = uri -> uri
+            .replaceFirst("\\?.*$", "")
+            .replaceFirst("/products/[^/]+$", "/products/{id}");
 
     @Bean
-    public WebClient productWebClient(WebClient.Builder builder) {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS))
-                .responseTimeout(java.time.Duration.ofSeconds(TIMEOUT_SECONDS))
-                .doOnConnected(conn -> conn
-                        .addHandlerLast(new ReadTimeoutHandler(TIMEOUT_SECONDS, TimeUnit.SECONDS))
-                        .addHandlerLast(new WriteTimeoutHandler(TIMEOUT_SECONDS, TimeUnit.SECONDS)));
+    public WebClient productWebClient(WebClient.Builder builder, HttpClientProperties properties, MeterRegistry meterRegistry) {
+        HttpClient httpClient = httpClient("product", properties.getProduct(), meterRegistry);
 
         String auth = "user:pass";
         String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
 
         return builder
-                .baseUrl(PRODUCT_SERVICE_BASE_URL)
+                .baseUrl(properties.getProduct().getBaseUrl())
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Basic " + encodedAuth)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
@@ -42,10 +50,54 @@ public class WebClientConfig {
     }
 
     @Bean
-    public WebClient exchangeRateWebClient(WebClient.Builder builder) {
+    public WebClient exchangeRateWebClient(WebClient.Builder builder, HttpClientProperties properties, MeterRegistry meterRegistry) {
+        HttpClient httpClient = httpClient("exchangeRate", properties.getExchangeRate(), meterRegistry);
+
         return builder
-                .baseUrl("https://api.frankfurter.app")
+                .baseUrl(properties.getExchangeRate().getBaseUrl())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
+
+    private static HttpClient httpClient(String name, HttpClientProperties.Profile profile, MeterRegistry meterRegistry) {
+        ConnectionProvider pool = ConnectionProvider.builder(name)
+                .maxConnections(profile.getMaxConnections())
+                .pendingAcquireMaxCount(profile.getMaxPendingAcquires())
+                .pendingAcquireTimeout(profile.getPendingAcquireTimeout())
+                .maxIdleTime(profile.getMaxIdleTime())
+                .maxLifeTime(profile.getMaxLifeTime())
+                .evictInBackground(profile.getEvictionInterval())
+                .metrics(true)
+                .build();
+
+        Counter opened = Counter.builder("http.client.connections")
+                .description("Connections opened or closed by the pool")
+                .tag("client", name)
+                .tag("event", "opened")
+                .register(meterRegistry);
+        Counter closed = Counter.builder("http.client.connections")
+                .description("Connections opened or closed by the pool")
+                .tag("client", name)
+                .tag("event", "closed")
+                .register(meterRegistry);
+
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) profile.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, profile.isKeepAlive())
+                .keepAlive(profile.isKeepAlive())
+                .responseTimeout(profile.getResponseTimeout())
+                .compress(profile.isCompression())
+                .metrics(true, URI_TAG)
+                .observe((connection, state) -> {
+                    if (state == ConnectionObserver.State.CONNECTED) {
+                        opened.increment();
+                        connection.channel().closeFuture().addListener(future -> closed.increment());
+                    }
+                });
+        if (profile.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        return httpClient;
+    }
 }
@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -24,6 +25,7 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/currencies")
 @RequiredArgsConstructor
+@Profile("!reactive")
 @Tag(name = "Currencies (internal)", description = "Supported currencies from Frankfurter. Used by the frontend currency selector. Search filters by code or name. Cached.")
 public class CurrencyController {
 
@@ -37,10 +39,14 @@ public class CurrencyController {
     @GetMapping
     public ResponseEntity<List<CurrencyOptionDto>> getCurrencies(
             @Parameter(description = "Filter by code or name (e.g. 'ja' for JPY, 'Japanese')") @RequestParam(required = false) String search) {
-        Map<String, String> all = exchangeRateClient.getCurrencies();
+        return ResponseEntity.ok(toOptions(exchangeRateClient.getCurrencies(), search));
+    }
+
+    /** Also used by {@link ReactiveCurrencyController}. */
+    static List<CurrencyOptionDto> toOptions(Map<String, String> all, String search) {
         String searchTrimmed = search != null ? search.trim().toLowerCase() : "";
 
-        List<CurrencyOptionDto> list = all.entrySet().stream()
+        return all.entrySet().stream()
                 .filter(e -> searchTrimmed.isEmpty()
                         || e.getKey().toLowerCase().contains(searchTrimmed)
                         || (e.getValue() != null && e.getValue().toLowerCase().contains(searchTrimmed)))
@@ -50,7 +56,5 @@ public class CurrencyController {
                         .build())
                 .sorted(Comparator.comparing(CurrencyOptionDto::getCode))
                 .collect(Collectors.toList());
-
-        return ResponseEntity.ok(list);
     }
 }
@@ -1,10 +1,19 @@
 package com.example.packageaggregator.controller;
 
+import com.example.packageaggregator.api.dto.BatchCreatePackagesRequest;
+import com.example.packageaggregator.api.dto.BatchCreateResponseDto;
 import com.example.packageaggregator.api.dto.CreatePackageRequest;
+import com.example.packageaggregator.api.dto.CursorPageDto;
+import com.example.packageaggregator.api.dto.PackageLookupDto;
+import com.example.packageaggregator.api.dto.PackageLookupRequest;
 import com.example.packageaggregator.api.dto.PackageResponseDto;
 import com.example.packageaggregator.api.dto.PackageSummaryDto;
 import com.example.packageaggregator.api.dto.PageDto;
 import com.example.packageaggregator.api.dto.UpdatePackageRequest;
+import com.example.packageaggregator.service.PackageDetailView;
+import com.example.packageaggregator.service.PackageExport;
+import com.example.packageaggregator.service.PackageExportFormat;
+import com.example.packageaggregator.service.PackageImportService;
 import com.example.packageaggregator.service.PackageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,10 +23,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,20 +38,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/packages")
 @RequiredArgsConstructor
+@Profile("!reactive")
 @Tag(name = "Packages", description = "Create, read, update, and soft-delete packages. Totals and product prices are converted to the requested currency at response time.")
 public class PackageController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    static final String PREFER = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String RETURN_MINIMAL = "return=minimal";
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final PackageService packageService;
+    private final PackageImportService packageImportService;
 
     @Operation(operationId = "createPackage", summary = "Create a package", description = "Creates a new package with the given name, description, and product IDs. Products are fetched from the external API and snapshotted (name, price in USD). Total is stored in USD.")
     @ApiResponses({
@@ -52,18 +81,77 @@ public class PackageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
-    @Operation(operationId = "getPackageById", summary = "Get package by ID", description = "Returns a single package with products. Total and each product price are converted to the requested currency.")
+    @Operation(operationId = "createPackagesBatch", summary = "Create many packages", description = "Creates up to " + BatchCreatePackagesRequest.MAX_PACKAGES + " packages in one call. The product IDs of all items are fetched once, and packages are inserted in chunked transactions. Each item succeeds or fails on its own; the response lists one result per item, in request order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-item results", content = @Content(schema = @Schema(implementation = BatchCreateResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "503", description = "External product service unavailable")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponseDto> createBatch(@Valid @RequestBody BatchCreatePackagesRequest request) {
+        return ResponseEntity.ok(packageService.createBatch(request.getPackages()));
+    }
+
+    @Operation(operationId = "importPackages", summary = "Import packages from NDJSON", description = "Reads the body as NDJSON, one create request per line, and creates packages in micro-batches as lines arrive (same rules as POST /packages/batch). The response streams NDJSON events: an 'error' per rejected line, 'progress' after each committed batch, and a final 'summary' or, if the product service becomes unavailable, 'aborted' with the first line not imported.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream")
+    })
+    @PostMapping(value = "/import", consumes = {NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<StreamingResponseBody> importPackages(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(out -> packageImportService.importPackages(body, out));
+    }
+
+    @Operation(operationId = "getPackageById", summary = "Get package by ID", description = "Returns a single package with products. Total and each product price are converted to the requested currency. The response carries a strong ETag derived from the package version and the exchange rate applied; send it back in If-None-Match to get a 304 without the body.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Package found", content = @Content(schema = @Schema(implementation = PackageResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Package unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Package not found"),
             @ApiResponse(responseCode = "503", description = "Exchange rate service unavailable for the requested currency")
     })
     @GetMapping("/{id}")
     public ResponseEntity<PackageResponseDto> getById(
             @Parameter(description = "Package UUID") @PathVariable UUID id,
-            @Parameter(description = "Target currency for amounts (e.g. USD, EUR, GBP)") @RequestParam(required = false, defaultValue = "USD") String currency) {
-        PackageResponseDto dto = packageService.getById(id, currency);
-        return ResponseEntity.ok(dto);
+            @Parameter(description = "Target currency for amounts (e.g. USD, EUR, GBP)") @RequestParam(required = false, defaultValue = "USD") String currency,
+            WebRequest webRequest) {
+        PackageDetailView view = packageService.getDetail(id, currency);
+        // The snapshot comes from the near cache (one fetch-join query on a miss); the body is only mapped when the
+        // client's copy is stale.
+        if (webRequest.checkNotModified(view.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(view.getETag()).body(view.toResponseDto());
+    }
+
+    @Operation(operationId = "getPackagesByIds", summary = "Get many packages by ID", description = "Returns the packages with the given IDs (at most " + PackageLookupRequest.MAX_IDS + ") and their products, loaded with one query and converted with one exchange rate. IDs that do not exist or are deleted are listed under 'missing' instead of failing the call. Use POST /packages/lookup for long lists.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Found packages and missing IDs", content = @Content(schema = @Schema(implementation = PackageLookupDto.class))),
+            @ApiResponse(responseCode = "400", description = "Too many or malformed IDs"),
+            @ApiResponse(responseCode = "503", description = "Exchange rate service unavailable for the requested currency")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<PackageLookupDto> getByIds(
+            @Parameter(description = "Comma-separated package UUIDs") @RequestParam List<UUID> ids,
+            @Parameter(description = "Target currency for amounts") @RequestParam(required = false, defaultValue = "USD") String currency) {
+        if (ids.isEmpty() || ids.size() > PackageLookupRequest.MAX_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + PackageLookupRequest.MAX_IDS + " ids are required");
+        }
+        return ResponseEntity.ok(packageService.getByIds(ids, currency));
+    }
+
+    @Operation(operationId = "lookupPackages", summary = "Get many packages by ID (body)", description = "Same as GET /packages?ids=..., with the IDs in the request body.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Found packages and missing IDs", content = @Content(schema = @Schema(implementation = PackageLookupDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized ID list"),
+            @ApiResponse(responseCode = "503", description = "Exchange rate service unavailable for the requested currency")
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<PackageLookupDto> lookup(
+            @Valid @RequestBody PackageLookupRequest request,
+            @Parameter(description = "Target currency for amounts") @RequestParam(required = false, defaultValue = "USD") String currency) {
+        return ResponseEntity.ok(packageService.getByIds(request.getIds(), currency));
     }
 
     @Operation(operationId = "getPackages", summary = "List packages (paginated)", description = "Returns a page of packages sorted by creation date (newest first). Totals are in the requested currency.")
@@ -81,17 +169,84 @@ public class PackageController {
         return ResponseEntity.ok(result);
     }
 
-    @Operation(operationId = "updatePackage", summary = "Update package", description = "Updates the package name and description only. Product list is immutable after creation.")
+    @Operation(operationId = "scrollPackages", summary = "List packages (cursor paginated)", description = "Returns a page of packages sorted by creation date (newest first), continuing after the given cursor. Unlike offset paging, deep pages cost the same as the first one. The total is omitted unless includeTotal=true.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of packages", content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "503", description = "Exchange rate service unavailable")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<PackageSummaryDto>> scroll(
+            @Parameter(description = "nextCursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-" + MAX_SCROLL_SIZE + ")") @RequestParam(required = false, defaultValue = "20") int size,
+            @Parameter(description = "Target currency for totals") @RequestParam(required = false, defaultValue = "USD") String currency,
+            @Parameter(description = "Include the total number of packages") @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        return ResponseEntity.ok(packageService.getPage(cursor, size, currency, includeTotal));
+    }
+
+    @Operation(operationId = "searchPackages", summary = "Search packages", description = "Ranked search over package names and descriptions. Every word of q must match a whole word or, from 2 characters, the start of a word; name matches rank above description matches, then newest first. Paged with a cursor; a page costs about its size, not the number of matches. The total number of matches is omitted unless includeTotal=true.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of matching packages", content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing query, invalid cursor or page size"),
+            @ApiResponse(responseCode = "503", description = "Exchange rate service unavailable")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDto<PackageSummaryDto>> search(
+            @Parameter(description = "Search words") @RequestParam String q,
+            @Parameter(description = "nextCursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-" + MAX_SCROLL_SIZE + ")") @RequestParam(required = false, defaultValue = "20") int size,
+            @Parameter(description = "Target currency for totals") @RequestParam(required = false, defaultValue = "USD") String currency,
+            @Parameter(description = "Include the total number of matches") @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        if (q.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        return ResponseEntity.ok(packageService.search(q, cursor, size, currency, includeTotal));
+    }
+
+    @Operation(operationId = "exportPackages", summary = "Export all packages", description = "Streams every non-deleted package (newest first) as NDJSON (one summary object per line) or CSV, converted with one exchange rate. Rows are read from a database cursor and written as they are read, so exports of any size use constant memory.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export stream"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "503", description = "Exchange rate service unavailable")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "ndjson or csv") @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @Parameter(description = "Target currency for totals") @RequestParam(required = false, defaultValue = "USD") String currency) {
+        PackageExportFormat exportFormat = PackageExportFormat.fromParameter(format);
+        PackageExport export = packageService.export(exportFormat, currency);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("packages." + exportFormat.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(export::writeTo);
+    }
+
+    @Operation(operationId = "updatePackage", summary = "Update package", description = "Updates the package name and description only. Product list is immutable after creation. Send 'Prefer: return=minimal' to get 204 without the package being re-read.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Package updated", content = @Content(schema = @Schema(implementation = PackageResponseDto.class))),
+            @ApiResponse(responseCode = "204", description = "Package updated (Prefer: return=minimal)"),
             @ApiResponse(responseCode = "400", description = "Validation error"),
             @ApiResponse(responseCode = "404", description = "Package not found")
     })
     @PutMapping("/{id}")
     public ResponseEntity<PackageResponseDto> update(
             @Parameter(description = "Package UUID") @PathVariable UUID id,
+            @Parameter(description = "return=minimal to skip the response body") @RequestHeader(value = PREFER, required = false) String prefer,
             @Valid @RequestBody UpdatePackageRequest request) {
-        PackageResponseDto dto = packageService.update(id, request);
+        boolean minimal = prefer != null && prefer.contains(RETURN_MINIMAL);
+        PackageResponseDto dto = packageService.update(id, request, !minimal);
+        if (minimal) {
+            return ResponseEntity.noContent().header(PREFERENCE_APPLIED, RETURN_MINIMAL).build();
+        }
         return ResponseEntity.ok(dto);
     }
 
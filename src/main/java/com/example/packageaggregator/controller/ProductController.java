@@ -1,64 +1,63 @@
 package com.example.packageaggregator.controller;
 
 import com.example.packageaggregator.api.dto.ProductDto;
-import com.example.packageaggregator.client.ExchangeRateClient;
-import com.example.packageaggregator.client.ProductClient;
-import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import com.example.packageaggregator.service.ProductCatalogService;
+import com.example.packageaggregator.service.ProductCatalogView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/products")
 @RequiredArgsConstructor
+@Profile("!reactive")
 @Tag(name = "Products (internal)", description = "Product catalog for the frontend. Used when building a package by selection. Prices are returned in the requested currency. Cached.")
 public class ProductController {
 
-    private static final String DEFAULT_CURRENCY = "USD";
+    static final String DEFAULT_CURRENCY = "USD";
 
-    private final ProductClient productClient;
-    private final ExchangeRateClient exchangeRateClient;
+    private final ProductCatalogService productCatalogService;
 
-    @Operation(operationId = "getProducts", summary = "List all products", description = "Returns the full product catalog from the external API with prices converted to the requested currency. Used by the frontend 'Create Package' flow.")
+    @Operation(operationId = "getProducts", summary = "List all products", description = "Returns the full product catalog from the external API with prices converted to the requested currency. Used by the frontend 'Create Package' flow. The response is pre-rendered per currency and carries an ETag; send it back in If-None-Match to get 304 while the catalog and rate are unchanged.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "List of products with price and currency", content = @Content(schema = @Schema(implementation = ProductDto.class))),
+            @ApiResponse(responseCode = "200", description = "List of products with price and currency", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "503", description = "Product or exchange rate service unavailable")
     })
     @GetMapping
-    public ResponseEntity<List<ProductDto>> getProducts(
-            @Parameter(description = "Target currency for prices (e.g. USD, EUR)") @RequestParam(required = false, defaultValue = "USD") String currency) {
+    public ResponseEntity<byte[]> getProducts(
+            @Parameter(description = "Target currency for prices (e.g. USD, EUR)") @RequestParam(required = false, defaultValue = "USD") String currency,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
-        BigDecimal rate = exchangeRateClient.getRateUsdTo(targetCurrency);
+        return toResponse(productCatalogService.getCatalogView(targetCurrency), acceptEncoding);
+    }
 
-        List<ExternalProductResponse> external = productClient.getProducts();
-        List<ProductDto> dtos = external.stream()
-                .map(p -> {
-                    BigDecimal priceInCurrency = p.getUsdPrice() != null
-                            ? p.getUsdPrice().multiply(rate).setScale(2, RoundingMode.HALF_UP)
-                            : BigDecimal.ZERO;
-                    return ProductDto.builder()
-                            .id(p.getId())
-                            .name(p.getName())
-                            .price(priceInCurrency)
-                            .currency(targetCurrency)
-                            .build();
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    /** Also used by {@link ReactiveProductController}. */
+    static ResponseEntity<byte[]> toResponse(ProductCatalogView view, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        // Spring answers 304 itself when If-None-Match matches the ETag set here.
+        if (view.getGzipJson() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.eTag(view.getGzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(view.getGzipJson());
+        }
+        return response.eTag(view.getEtag()).body(view.getJson());
     }
 }
@@ -0,0 +1,31 @@
+package com.example.packageaggregator.controller;
+
+import com.example.packageaggregator.api.dto.CurrencyOptionDto;
+import com.example.packageaggregator.client.ExchangeRateClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link CurrencyController} for the {@code reactive} profile.
+ */
+@RestController
+@RequestMapping("/currencies")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveCurrencyController {
+
+    private final ExchangeRateClient exchangeRateClient;
+
+    @GetMapping
+    public Mono<List<CurrencyOptionDto>> getCurrencies(@RequestParam(required = false) String search) {
+        return exchangeRateClient.findCurrencies()
+                .map(all -> CurrencyController.toOptions(all, search));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.packageaggregator.controller;
+
+import com.example.packageaggregator.api.dto.CreatePackageRequest;
+import com.example.packageaggregator.api.dto.PackageResponseDto;
+import com.example.packageaggregator.api.dto.PackageSummaryDto;
+import com.example.packageaggregator.api.dto.PageDto;
+import com.example.packageaggregator.api.dto.UpdatePackageRequest;
+import com.example.packageaggregator.service.ReactivePackageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.UUID;
+
+import static com.example.packageaggregator.controller.PackageController.PREFER;
+import static com.example.packageaggregator.controller.PackageController.PREFERENCE_APPLIED;
+import static com.example.packageaggregator.controller.PackageController.RETURN_MINIMAL;
+
+/**
+ * {@link PackageController} for the {@code reactive} profile: the create, list, get, update and delete endpoints
+ * with the same contract, served on the WebFlux event loop. The other package endpoints (scroll, batch, import,
+ * lookup, search, export) and ETags are only available on the servlet stack.
+ */
+@RestController
+@RequestMapping("/packages")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactivePackageController {
+
+    private final ReactivePackageService packageService;
+
+    @PostMapping
+    public Mono<ResponseEntity<PackageResponseDto>> create(@Valid @RequestBody CreatePackageRequest request) {
+        return packageService.create(request)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<PackageResponseDto> getById(@PathVariable UUID id,
+                                            @RequestParam(required = false, defaultValue = "USD") String currency) {
+        return packageService.getById(id, currency);
+    }
+
+    @GetMapping
+    public Mono<PageDto<PackageSummaryDto>> getAll(@RequestParam(required = false, defaultValue = "0") int page,
+                                                   @RequestParam(required = false, defaultValue = "20") int size,
+                                                   @RequestParam(required = false, defaultValue = "USD") String currency) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return packageService.getAll(pageable, currency);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PackageResponseDto>> update(@PathVariable UUID id,
+                                                           @RequestHeader(value = PREFER, required = false) String prefer,
+                                                           @Valid @RequestBody UpdatePackageRequest request) {
+        boolean minimal = prefer != null && prefer.contains(RETURN_MINIMAL);
+        if (minimal) {
+            return packageService.update(id, request, false)
+                    .then(Mono.fromSupplier(() -> ResponseEntity.noContent().header(PREFERENCE_APPLIED, RETURN_MINIMAL).build()));
+        }
+        return packageService.update(id, request, true).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable UUID id) {
+        return packageService.softDelete(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.packageaggregator.controller;
+
+import com.example.packageaggregator.service.ProductCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ProductController} for the {@code reactive} profile; same pre-rendered body, ETag and gzip handling.
+ */
+@RestController
+@RequestMapping("/products")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveProductController {
+
+    private final ProductCatalogService productCatalogService;
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getProducts(
+            @RequestParam(required = false, defaultValue = "USD") String currency,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String targetCurrency = currency != null && !currency.isBlank() ? currency : ProductController.DEFAULT_CURRENCY;
+        return productCatalogService.findCatalogView(targetCurrency)
+                .map(view -> ProductController.toResponse(view, acceptEncoding));
+    }
+}
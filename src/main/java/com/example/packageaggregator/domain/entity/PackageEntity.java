@@ -1,5 +1,6 @@
 package com.example.packageaggregator.domain.entity;
 
+import com.example.packageaggregator.domain.id.TimeOrderedUuidGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,8 +12,10 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import org.hibernate.annotations.GenericGenerator;
 import java.math.BigDecimal;
@@ -21,8 +24,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * The composite index serves both listing styles: it matches the {@code deleted = false} filter and the
+ * (createdAt, id) keyset order, so a page is an index range scan however deep it is.
+ */
 @Entity
-@Table(name = "packages")
+@Table(name = "packages", indexes = @Index(name = "idx_packages_deleted_created_at_id", columnList = "deleted, createdAt, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,8 +38,8 @@ import java.util.UUID;
 public class PackageEntity {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @GeneratedValue(generator = TimeOrderedUuidGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedUuidGenerator.NAME, strategy = TimeOrderedUuidGenerator.STRATEGY)
     @Column(columnDefinition = "VARBINARY(16)")
     private UUID id;
 
@@ -51,6 +58,16 @@ public class PackageEntity {
     @Builder.Default
     private boolean deleted = false;
 
+    /**
+     * Optimistic-lock version, bumped on every update; part of the package ETag. Left null on new entities so
+     * Spring Data treats them as new (persist, not merge); Hibernate initializes it to 0 on insert. The column
+     * is NOT NULL with a default of 0, so rows inserted outside Hibernate (benchmark seeding, R2DBC) are
+     * versioned too: {@code version = version + 1} would leave a NULL version NULL.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @OneToMany(mappedBy = "packageEntity", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<PackageProductEntity> products = new ArrayList<>();
@@ -1,5 +1,6 @@
 package com.example.packageaggregator.domain.entity;
 
+import com.example.packageaggregator.domain.id.TimeOrderedUuidGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -29,8 +30,8 @@ import java.util.UUID;
 public class PackageProductEntity {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @GeneratedValue(generator = TimeOrderedUuidGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedUuidGenerator.NAME, strategy = TimeOrderedUuidGenerator.STRATEGY)
     @Column(columnDefinition = "VARBINARY(16)")
     private UUID id;
 
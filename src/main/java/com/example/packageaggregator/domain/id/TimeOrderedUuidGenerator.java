@@ -0,0 +1,21 @@
+package com.example.packageaggregator.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+
+/**
+ * Hibernate generator for {@link TimeOrderedUuids}. Ids are assigned in-process before the insert, so Hibernate
+ * can batch inserts (an IDENTITY column would force one statement per row).
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    public static final String NAME = "uuid7";
+    public static final String STRATEGY = "com.example.packageaggregator.domain.id.TimeOrderedUuidGenerator";
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedUuids.next();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.packageaggregator.domain.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The one USD-to-currency conversion used for every package total and product price, so responses, exports
+ * and benchmarks all round the same way.
+ */
+public final class CurrencyConversion {
+
+    /** Converted amounts are rounded half-up to cents. */
+    public static final int SCALE = 2;
+
+    private CurrencyConversion() {
+    }
+
+    /**
+     * Converts {@code amountUsd} with {@code rateUsdToCurrency} (units of the currency per 1 USD); a missing
+     * amount converts to zero.
+     */
+    public static BigDecimal fromUsd(BigDecimal amountUsd, BigDecimal rateUsdToCurrency) {
+        if (amountUsd == null) {
+            return BigDecimal.ZERO;
+        }
+        return amountUsd.multiply(rateUsdToCurrency).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.packageaggregator.domain.readmodel;
+
+import com.example.packageaggregator.domain.entity.PackageEntity;
+import com.example.packageaggregator.domain.entity.PackageProductEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, detached copy of a package and its products (USD), as held by the package near cache.
+ * Holds no reference to JPA entities, sessions or lazy proxies, so it can be shared freely across threads.
+ */
+@Getter
+@AllArgsConstructor
+public final class PackageSnapshot {
+
+    private static final int BASE_WEIGHT = 160;
+    private static final int PRODUCT_WEIGHT = 120;
+
+    private final UUID id;
+    private final String name;
+    private final String description;
+    private final BigDecimal totalPriceUsd;
+    private final Instant createdAt;
+    private final Long version;
+    private final List<Product> products;
+
+    public static PackageSnapshot of(PackageEntity entity) {
+        List<Product> products = entity.getProducts().stream()
+                .map(Product::of)
+                .collect(Collectors.toUnmodifiableList());
+        return new PackageSnapshot(entity.getId(), entity.getName(), entity.getDescription(),
+                entity.getTotalPriceUsd(), entity.getCreatedAt(), entity.getVersion(), products);
+    }
+
+    /**
+     * Rough retained size in bytes (object headers, fields and string contents); used to bound the cache by
+     * memory rather than by entry count, since a package may hold one product or hundreds.
+     */
+    public int estimatedWeight() {
+        int weight = BASE_WEIGHT + chars(name) + chars(description);
+        for (Product product : products) {
+            weight += PRODUCT_WEIGHT + chars(product.getExternalProductId()) + chars(product.getProductName());
+        }
+        return weight;
+    }
+
+    private static int chars(String value) {
+        return value == null ? 0 : 2 * value.length();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Product {
+
+        private final String externalProductId;
+        private final String productName;
+        private final BigDecimal productPriceUsd;
+
+        static Product of(PackageProductEntity entity) {
+            return new Product(entity.getExternalProductId(), entity.getProductName(), entity.getProductPriceUsd());
+        }
+    }
+}
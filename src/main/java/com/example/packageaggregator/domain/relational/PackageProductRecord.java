@@ -0,0 +1,32 @@
+package com.example.packageaggregator.domain.relational;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * R2DBC mapping of the {@code package_products} table (owned by
+ * {@link com.example.packageaggregator.domain.entity.PackageProductEntity}).
+ */
+@Table("package_products")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageProductRecord {
+
+    @Id
+    private UUID id;
+    private UUID packageId;
+    private String externalProductId;
+    private String productName;
+    private BigDecimal productPriceUsd;
+}
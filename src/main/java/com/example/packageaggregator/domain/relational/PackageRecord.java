@@ -0,0 +1,38 @@
+package com.example.packageaggregator.domain.relational;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * R2DBC mapping of the {@code packages} table for the reactive stack. The table itself is owned by the JPA
+ * entity {@link com.example.packageaggregator.domain.entity.PackageEntity} (schema generation, index); this
+ * class must stay column-compatible with it. {@code createdAt} is the column's local date-time, as Hibernate
+ * writes it in the JVM time zone. {@code version} is a primitive starting at 0, like the column's
+ * {@code NOT NULL DEFAULT 0}, so the repository's {@code version = version + 1} always bumps it.
+ */
+@Table("packages")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageRecord {
+
+    @Id
+    private UUID id;
+    private String name;
+    private String description;
+    private BigDecimal totalPriceUsd;
+    private LocalDateTime createdAt;
+    private boolean deleted;
+    private long version;
+}
@@ -3,12 +3,15 @@ package com.example.packageaggregator.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -43,19 +46,13 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorBody> handleValidation(MethodArgumentNotValidException ex) {
-        String message = ex.getBindingResult().getFieldErrors().stream()
-                .map(e -> e.getField() + ": " + e.getDefaultMessage())
-                .collect(Collectors.joining("; "));
-        log.warn("Validation error: {}", message);
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(e -> errors.put(e.getField(), e.getDefaultMessage()));
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ErrorBody.builder()
-                .status(400)
-                .error("Bad Request")
-                .message(message)
-                .timestamp(Instant.now().toString())
-                .validationErrors(errors)
-                .build());
+        return validationError(ex.getBindingResult().getFieldErrors());
+    }
+
+    /** Body validation failures on the reactive stack (profile {@code reactive}). */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorBody> handleValidation(WebExchangeBindException ex) {
+        return validationError(ex.getFieldErrors());
     }
 
     @ExceptionHandler(InvalidProductException.class)
@@ -80,6 +77,22 @@ public class GlobalExceptionHandler {
                 .build());
     }
 
+    private ResponseEntity<ErrorBody> validationError(List<FieldError> fieldErrors) {
+        String message = fieldErrors.stream()
+                .map(e -> e.getField() + ": " + e.getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        log.warn("Validation error: {}", message);
+        Map<String, String> errors = new HashMap<>();
+        fieldErrors.forEach(e -> errors.put(e.getField(), e.getDefaultMessage()));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ErrorBody.builder()
+                .status(400)
+                .error("Bad Request")
+                .message(message)
+                .timestamp(Instant.now().toString())
+                .validationErrors(errors)
+                .build());
+    }
+
     @lombok.Getter
     @lombok.Builder
     private static class ErrorBody {
@@ -1,19 +1,100 @@
 package com.example.packageaggregator.repository;
 
 import com.example.packageaggregator.domain.entity.PackageEntity;
+import com.example.packageaggregator.repository.projection.PackageSummaryRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PackageJpaRepository extends JpaRepository<PackageEntity, UUID> {
 
     Page<PackageEntity> findAllByDeletedFalse(Pageable pageable);
 
+    long countByDeletedFalse();
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    String SUMMARY_ROW = "SELECT new com.example.packageaggregator.repository.projection.PackageSummaryRow("
+            + "p.id, p.name, p.description, p.totalPriceUsd, p.createdAt) FROM PackageEntity p";
+
+    /**
+     * Offset page of listing rows; same filter as {@link #findAllByDeletedFalse} without hydrating entities.
+     */
+    @Query(value = SUMMARY_ROW + " WHERE p.deleted = false",
+            countQuery = "SELECT count(p) FROM PackageEntity p WHERE p.deleted = false")
+    Page<PackageSummaryRow> findSummariesByDeletedFalse(Pageable pageable);
+
+    /**
+     * Listing rows for the given ids (any order); deleted packages are skipped.
+     */
+    @Query(SUMMARY_ROW + " WHERE p.id IN :ids AND p.deleted = false")
+    List<PackageSummaryRow> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Every non-deleted package as listing rows, newest first, read from a forward-only cursor
+     * {@value #EXPORT_FETCH_SIZE} rows at a time. Rows are not managed entities, so nothing accumulates in the
+     * persistence context. Must be consumed, and closed, inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query(SUMMARY_ROW + " WHERE p.deleted = false ORDER BY p.createdAt DESC, p.id DESC")
+    Stream<PackageSummaryRow> streamAllSummaries();
+
+    /**
+     * First page of the keyset listing, newest first. Pass {@code PageRequest.of(0, limit)} to bound the rows.
+     */
+    @Query(SUMMARY_ROW + " WHERE p.deleted = false ORDER BY p.createdAt DESC, p.id DESC")
+    List<PackageSummaryRow> findFirstPage(Pageable limit);
+
+    /**
+     * Next page of the keyset listing: the rows strictly after ({@code createdAt}, {@code id}) in
+     * (createdAt DESC, id DESC) order. Seeks in the index instead of skipping an offset.
+     */
+    @Query(SUMMARY_ROW + " WHERE p.deleted = false"
+            + " AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))"
+            + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<PackageSummaryRow> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable limit);
+
     @Query("SELECT p FROM PackageEntity p LEFT JOIN FETCH p.products WHERE p.id = :id AND p.deleted = false")
     Optional<PackageEntity> findByIdAndDeletedFalse(@Param("id") UUID id);
+
+    /**
+     * Loads the non-deleted packages among {@code ids} together with their products in a single query.
+     */
+    @EntityGraph(attributePaths = "products")
+    List<PackageEntity> findDistinctByIdInAndDeletedFalse(Collection<UUID> ids);
+
+    /**
+     * Sets name and description of a non-deleted package in one statement, bumping its version.
+     *
+     * @return 1 if updated, 0 if the package does not exist or is deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PackageEntity p SET p.name = :name, p.description = :description, p.version = p.version + 1"
+            + " WHERE p.id = :id AND p.deleted = false")
+    int updateDetails(@Param("id") UUID id, @Param("name") String name, @Param("description") String description);
+
+    /**
+     * Soft-deletes a package in one statement, bumping its version.
+     *
+     * @return 1 if the package was deleted now, 0 if it does not exist or was already deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PackageEntity p SET p.deleted = true, p.version = p.version + 1 WHERE p.id = :id AND p.deleted = false")
+    int softDeleteById(@Param("id") UUID id);
 }
@@ -0,0 +1,24 @@
+package com.example.packageaggregator.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The columns a package listing needs, selected by JPQL constructor expressions
+ * ({@code SELECT new ...PackageSummaryRow(...)}). Rows are plain values: Hibernate does not manage them, so
+ * listings skip entity hydration, dirty-checking snapshots and lazy-collection proxies.
+ */
+@Getter
+@AllArgsConstructor
+public final class PackageSummaryRow {
+
+    private final UUID id;
+    private final String name;
+    private final String description;
+    private final BigDecimal totalPriceUsd;
+    private final Instant createdAt;
+}
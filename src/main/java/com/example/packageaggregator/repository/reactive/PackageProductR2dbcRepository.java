@@ -0,0 +1,12 @@
+package com.example.packageaggregator.repository.reactive;
+
+import com.example.packageaggregator.domain.relational.PackageProductRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+public interface PackageProductR2dbcRepository extends R2dbcRepository<PackageProductRecord, UUID> {
+
+    Flux<PackageProductRecord> findByPackageId(UUID packageId);
+}
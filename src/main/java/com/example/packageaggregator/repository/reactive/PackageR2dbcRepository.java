@@ -0,0 +1,35 @@
+package com.example.packageaggregator.repository.reactive;
+
+import com.example.packageaggregator.domain.relational.PackageRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking access to {@code packages} for the reactive stack; mirrors the queries of
+ * {@link com.example.packageaggregator.repository.PackageJpaRepository} it needs, including the single-statement
+ * update and soft delete that bump {@code version}.
+ */
+public interface PackageR2dbcRepository extends R2dbcRepository<PackageRecord, UUID> {
+
+    Mono<PackageRecord> findByIdAndDeletedFalse(UUID id);
+
+    Flux<PackageRecord> findByDeletedFalse(Pageable pageable);
+
+    Mono<Long> countByDeletedFalse();
+
+    @Modifying
+    @Query("UPDATE packages SET name = :name, description = :description, version = version + 1 "
+            + "WHERE id = :id AND deleted = false")
+    Mono<Integer> updateDetails(@Param("id") UUID id, @Param("name") String name, @Param("description") String description);
+
+    @Modifying
+    @Query("UPDATE packages SET deleted = true, version = version + 1 WHERE id = :id AND deleted = false")
+    Mono<Integer> softDeleteById(@Param("id") UUID id);
+}
@@ -0,0 +1,27 @@
+package com.example.packageaggregator.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs side effects only once the surrounding transaction has committed (immediately when there is none),
+ * so in-memory state never reflects a write that was rolled back.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
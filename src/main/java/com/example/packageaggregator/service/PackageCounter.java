@@ -0,0 +1,42 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.repository.PackageJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live count of non-deleted packages, so paged listings can report a total without a COUNT(*) per page.
+ * Seeded from the database on first use, then maintained on create and soft delete. It is per instance
+ * and approximate under concurrent writes during seeding; use it for display, not for invariants.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class PackageCounter {
+
+    private static final long UNINITIALIZED = -1;
+
+    private final PackageJpaRepository packageRepository;
+    private final AtomicLong count = new AtomicLong(UNINITIALIZED);
+
+    public long get() {
+        long current = count.get();
+        if (current != UNINITIALIZED) {
+            return current;
+        }
+        long seeded = packageRepository.countByDeletedFalse();
+        count.compareAndSet(UNINITIALIZED, seeded);
+        return count.get();
+    }
+
+    void added(long packages) {
+        count.getAndUpdate(current -> current == UNINITIALIZED ? current : current + packages);
+    }
+
+    void removed() {
+        count.getAndUpdate(current -> current == UNINITIALIZED ? current : Math.max(0, current - 1));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.dto.PackageResponseDto;
+import com.example.packageaggregator.api.mapper.PackageMapper;
+import com.example.packageaggregator.domain.readmodel.PackageSnapshot;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One package in one currency, as served by {@code GET /packages/{id}}. The ETag and the body come from the same
+ * snapshot and rate, so a body is never sent under another version's ETag. The body is mapped on demand, so a
+ * 304 never builds it.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class PackageDetailView {
+
+    private final PackageSnapshot snapshot;
+    private final String currency;
+    private final BigDecimal rate;
+    private final BigDecimal convertedTotal;
+
+    /**
+     * Strong ETag: changes when the package is updated (its version) or when the rate applied for this currency
+     * changes. Rate changes for other currencies leave it alone.
+     */
+    public String getETag() {
+        return "\"" + snapshot.getId() + "." + snapshot.getVersion() + "." + currency + "."
+                + rate.stripTrailingZeros().toPlainString() + "\"";
+    }
+
+    public PackageResponseDto toResponseDto() {
+        return PackageMapper.toResponseDto(snapshot, convertedTotal, currency, rate);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.dto.CreatePackageRequest;
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import com.example.packageaggregator.exception.InvalidProductException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The validated, priced product selection of a new package: the fetched products in request order and their
+ * USD total. Shared by {@link PackageService} and {@link ReactivePackageService}, which only differ in how
+ * they persist it.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class PackageDraft {
+
+    private final List<ExternalProductResponse> products;
+    private final BigDecimal totalPriceUsd;
+
+    /**
+     * The request's product ids without duplicates, in request order.
+     *
+     * @throws InvalidProductException if the request has no product ids
+     */
+    static List<String> uniqueProductIds(CreatePackageRequest request) {
+        if (request.getProductIds() == null || request.getProductIds().isEmpty()) {
+            throw new InvalidProductException("At least one product is required");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(request.getProductIds()));
+    }
+
+    /**
+     * Prices a single package from a lookup of exactly its {@code uniqueIds}.
+     *
+     * @throws InvalidProductException if a product was not found or has no price
+     */
+    static PackageDraft ofAll(List<String> uniqueIds, Map<String, ExternalProductResponse> productMap) {
+        if (productMap.size() != uniqueIds.size()) {
+            throw new InvalidProductException("One or more products do not exist or are unavailable");
+        }
+        return of(uniqueIds, productMap);
+    }
+
+    /**
+     * Prices a package from a lookup that may hold other packages' products too (batch create).
+     *
+     * @throws InvalidProductException if a product is missing from {@code productMap} or has no price
+     */
+    static PackageDraft of(List<String> uniqueIds, Map<String, ExternalProductResponse> productMap) {
+        List<ExternalProductResponse> products = new ArrayList<>(uniqueIds.size());
+        BigDecimal totalUsd = BigDecimal.ZERO;
+        for (String productId : uniqueIds) {
+            ExternalProductResponse external = productMap.get(productId);
+            if (external == null || external.getUsdPrice() == null) {
+                throw new InvalidProductException("Invalid or missing product data for id: " + productId);
+            }
+            totalUsd = totalUsd.add(external.getUsdPrice());
+            products.add(external);
+        }
+        return new PackageDraft(Collections.unmodifiableList(products), totalUsd);
+    }
+}
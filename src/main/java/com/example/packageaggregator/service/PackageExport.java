@@ -0,0 +1,13 @@
+package com.example.packageaggregator.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An export whose inputs (format, currency, rate) are already resolved; {@link #writeTo} streams the rows.
+ */
+@FunctionalInterface
+public interface PackageExport {
+
+    void writeTo(OutputStream out) throws IOException;
+}
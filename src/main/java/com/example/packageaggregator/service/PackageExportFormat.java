@@ -0,0 +1,29 @@
+package com.example.packageaggregator.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum PackageExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    /**
+     * @throws IllegalArgumentException if {@code value} is not a supported format (case-insensitive)
+     */
+    public static PackageExportFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.dto.PackageSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows one at a time through a fixed-size buffer; nothing is retained between rows.
+ */
+abstract class PackageExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final OutputStream out;
+
+    private PackageExportWriter(OutputStream out) {
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+
+    static PackageExportWriter open(PackageExportFormat format, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        PackageExportWriter writer = format == PackageExportFormat.CSV
+                ? new Csv(out)
+                : new Ndjson(out, objectMapper.writerFor(PackageSummaryDto.class));
+        writer.start();
+        return writer;
+    }
+
+    abstract void write(PackageSummaryDto row) throws IOException;
+
+    void start() throws IOException {
+    }
+
+    void finish() throws IOException {
+        out.flush();
+    }
+
+    private static final class Ndjson extends PackageExportWriter {
+
+        private final ObjectWriter rowWriter;
+
+        Ndjson(OutputStream out, ObjectWriter rowWriter) {
+            super(out);
+            this.rowWriter = rowWriter;
+        }
+
+        @Override
+        void write(PackageSummaryDto row) throws IOException {
+            out.write(rowWriter.writeValueAsBytes(row));
+            out.write('\n');
+        }
+    }
+
+    private static final class Csv extends PackageExportWriter {
+
+        private static final String HEADER = "id,name,description,totalPrice,currency,createdAt\r\n";
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        Csv(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        void start() throws IOException {
+            out.write(HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void write(PackageSummaryDto row) throws IOException {
+            StringBuilder line = new StringBuilder(128)
+                    .append(row.getId()).append(',')
+                    .append(escape(row.getName())).append(',')
+                    .append(escape(row.getDescription())).append(',')
+                    .append(plain(row.getTotalPrice())).append(',')
+                    .append(escape(row.getCurrency())).append(',')
+                    .append(row.getCreatedAt())
+                    .append("\r\n");
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String plain(BigDecimal value) {
+            return value == null ? "" : value.toPlainString();
+        }
+
+        /**
+         * RFC 4180: quote fields containing separators, quotes or line breaks, doubling inner quotes. Values a
+         * spreadsheet would run as a formula (leading {@code = + - @}, tab or CR) get a leading {@code '} so they
+         * open as text.
+         */
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
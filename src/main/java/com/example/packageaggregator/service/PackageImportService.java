@@ -0,0 +1,147 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.dto.BatchCreateResponseDto;
+import com.example.packageaggregator.api.dto.BatchItemResultDto;
+import com.example.packageaggregator.api.dto.CreatePackageRequest;
+import com.example.packageaggregator.api.dto.ImportEventDto;
+import com.example.packageaggregator.exception.ExternalServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming NDJSON import: one {@link CreatePackageRequest} per line, processed in micro-batches through
+ * {@link PackageService#createBatch(List)} (one deduplicated, cached product lookup and chunked transactions
+ * per batch).
+ * <p>
+ * Backpressure is the blocking read loop itself: the next line is only read once the current batch has been
+ * committed, so a slow product service or database slows the reader, and TCP flow control slows the client.
+ * At most one micro-batch is held in memory. Results stream back as {@link ImportEventDto} lines.
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class PackageImportService {
+
+    private final PackageService packageService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter eventWriter;
+    private final int batchSize;
+
+    public PackageImportService(PackageService packageService,
+                                ObjectMapper objectMapper,
+                                @Value("${package.import.batch-size:200}") int batchSize) {
+        this.packageService = packageService;
+        this.requestReader = objectMapper.readerFor(CreatePackageRequest.class);
+        this.eventWriter = objectMapper.writerFor(ImportEventDto.class);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void importPackages(InputStream body, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<CreatePackageRequest> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        Progress progress = new Progress();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            progress.linesRead++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(requestReader.readValue(line));
+                batchLines.add(progress.linesRead);
+            } catch (JsonProcessingException e) {
+                progress.failed++;
+                emit(out, error(progress.linesRead, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+            if (batch.size() == batchSize && !flushBatch(batch, batchLines, progress, out)) {
+                return;
+            }
+        }
+        if (!batch.isEmpty() && !flushBatch(batch, batchLines, progress, out)) {
+            return;
+        }
+        log.info("Import finished: {} line(s), {} created, {} failed", progress.linesRead, progress.created, progress.failed);
+        emit(out, progress.event(ImportEventDto.SUMMARY));
+        out.flush();
+    }
+
+    /**
+     * @return false if the import was aborted because the product service is unavailable
+     */
+    private boolean flushBatch(List<CreatePackageRequest> batch, List<Long> batchLines, Progress progress,
+                               OutputStream out) throws IOException {
+        BatchCreateResponseDto response;
+        try {
+            response = packageService.createBatch(batch);
+        } catch (ExternalServiceUnavailableException e) {
+            log.warn("Import aborted at line {}: {}", batchLines.get(0), e.getMessage());
+            emit(out, ImportEventDto.builder()
+                    .type(ImportEventDto.ABORTED)
+                    .line(batchLines.get(0))
+                    .linesRead(progress.linesRead)
+                    .created(progress.created)
+                    .failed(progress.failed)
+                    .error(e.getMessage())
+                    .build());
+            out.flush();
+            return false;
+        }
+        for (BatchItemResultDto result : response.getResults()) {
+            if (BatchItemResultDto.CREATED.equals(result.getStatus())) {
+                progress.created++;
+            } else {
+                progress.failed++;
+                emit(out, error(batchLines.get(result.getIndex()), result.getError()));
+            }
+        }
+        emit(out, progress.event(ImportEventDto.PROGRESS));
+        out.flush();
+        batch.clear();
+        batchLines.clear();
+        return true;
+    }
+
+    private void emit(OutputStream out, ImportEventDto event) throws IOException {
+        out.write(eventWriter.writeValueAsBytes(event));
+        out.write('\n');
+    }
+
+    private static ImportEventDto error(long line, String message) {
+        return ImportEventDto.builder()
+                .type(ImportEventDto.ERROR)
+                .line(line)
+                .error(message)
+                .build();
+    }
+
+    private static final class Progress {
+        private long linesRead;
+        private long created;
+        private long failed;
+
+        ImportEventDto event(String type) {
+            return ImportEventDto.builder()
+                    .type(type)
+                    .linesRead(linesRead)
+                    .created(created)
+                    .failed(failed)
+                    .build();
+        }
+    }
+}
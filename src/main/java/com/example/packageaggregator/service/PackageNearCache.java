@@ -0,0 +1,60 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.domain.readmodel.PackageSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process read model for package detail: {@link PackageSnapshot}s keyed by package id, bounded by estimated
+ * memory ({@code package-cache.maximum-weight}). A hit costs no database round-trip.
+ * <p>
+ * Writers invalidate after their transaction commits. Loads run inside Caffeine's atomic compute, and an
+ * invalidation waits for a load of the same key in progress, so a snapshot read before a commit cannot
+ * outlive the invalidation that follows it. {@code expire-after-write} bounds staleness from writes made by
+ * other instances. Publishes the standard {@code cache.*} metrics with {@code cache=packageDetail}.
+ */
+@Component
+@Profile("!reactive")
+public class PackageNearCache {
+
+    static final String CACHE_NAME = "packageDetail";
+
+    private final Cache<UUID, PackageSnapshot> snapshots;
+
+    public PackageNearCache(MeterRegistry meterRegistry,
+                            @Value("${package-cache.maximum-weight:64MB}") DataSize maximumWeight,
+                            @Value("${package-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((UUID id, PackageSnapshot snapshot) -> snapshot.estimatedWeight())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached snapshot, or loads it with {@code loader}; a null from the loader (package missing
+     * or deleted) is returned as is and not cached.
+     */
+    public PackageSnapshot get(UUID id, Function<UUID, PackageSnapshot> loader) {
+        return snapshots.get(id, loader);
+    }
+
+    /**
+     * Drops the entry once the current transaction commits (immediately without one).
+     */
+    public void invalidateAfterCommit(UUID id) {
+        AfterCommit.run(() -> snapshots.invalidate(id));
+    }
+}
@@ -0,0 +1,524 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.PackageSearchCursor;
+import com.example.packageaggregator.repository.PackageJpaRepository;
+import com.example.packageaggregator.repository.projection.PackageSummaryRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over package names and descriptions, backing {@code GET /packages/search}.
+ * <p>
+ * Terms are lower-cased letter/digit runs. Each query token matches a package containing that term or, for
+ * tokens of {@value #MIN_PREFIX_LENGTH}+ characters, a term starting with it; all tokens must match. Hits are
+ * ranked by score (name beats description, whole term beats prefix), then newest first, and paged with a
+ * cursor on that order.
+ * <p>
+ * A package's terms are posted once, under its name if the name has them and under its description otherwise,
+ * and every posting list is kept newest first. So for each token the packages matching it at one weight (name
+ * term, name prefix, description term, description prefix) come from one set of posting lists in cursor order.
+ * A query walks the combinations of per-token weights from the highest total score down. Each combination is
+ * read from its smallest posting lists only, starting at the cursor, and the walk stops once the page is full.
+ * A page therefore costs about {@code limit} postings plus the ones skipped because they match at another
+ * weight, not the number of matches. Counting every match ({@link #count}) is the only full scan.
+ * <p>
+ * Built from the database when the application is ready and then maintained by {@link PackageService} after
+ * each commit. Writes that land while the rebuild runs win over the rows it read earlier: deleted packages are
+ * not re-added and updated ones keep their new text. The index is per instance: writes made by other instances
+ * are not seen until a restart. Reads are lock-free; writes are serialized.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class PackageSearchIndex {
+
+    static final int MIN_PREFIX_LENGTH = 2;
+    private static final int NAME_TERM = 8;
+    private static final int NAME_PREFIX = 4;
+    private static final int DESCRIPTION_TERM = 2;
+    private static final int DESCRIPTION_PREFIX = 1;
+    /** Per-token match weights, best first. */
+    private static final int[] WEIGHTS = {NAME_TERM, NAME_PREFIX, DESCRIPTION_TERM, DESCRIPTION_PREFIX};
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Best first: score, then newest, then id; the same order as {@link PackageSearchCursor}. */
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::getScore).reversed()
+            .thenComparing(Hit::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Hit::getId, Comparator.reverseOrder());
+    /** Posting list order: newest, then id; {@link #RANKING} within one score. */
+    private static final Comparator<Posting> NEWEST_FIRST = Comparator.comparing(Posting::getCreatedAt)
+            .thenComparing(Posting::getId)
+            .reversed();
+
+    private final PackageJpaRepository packageRepository;
+    private final ConcurrentSkipListMap<String, PostingList> namePostings = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, PostingList> descriptionPostings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, IndexedPackage> documents = new ConcurrentHashMap<>();
+
+    /** Only while {@link #rebuild()} runs: packages removed since it started. */
+    private Set<UUID> removedDuringRebuild;
+    /** Only while {@link #rebuild()} runs: new text of packages updated before their row was indexed. */
+    private Map<UUID, PendingUpdate> updatedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        startRebuild();
+        int indexed = 0;
+        try {
+            Pageable limit = PageRequest.of(0, REBUILD_PAGE_SIZE);
+            List<PackageSummaryRow> page = packageRepository.findFirstPage(limit);
+            while (!page.isEmpty()) {
+                indexed += indexRebuildPage(page);
+                PackageSummaryRow last = page.get(page.size() - 1);
+                page = packageRepository.findPageAfter(last.getCreatedAt(), last.getId(), limit);
+            }
+        } finally {
+            finishRebuild();
+        }
+        log.info("Indexed {} package(s) for search in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized void startRebuild() {
+        removedDuringRebuild = new HashSet<>();
+        updatedDuringRebuild = new HashMap<>();
+    }
+
+    private synchronized void finishRebuild() {
+        removedDuringRebuild = null;
+        updatedDuringRebuild = null;
+    }
+
+    /**
+     * Indexes rows read by the rebuild unless a write since then is newer: a package already indexed (created
+     * meanwhile) or removed is skipped, and an update seen before its row gets the updated text.
+     */
+    private synchronized int indexRebuildPage(List<PackageSummaryRow> page) {
+        int indexed = 0;
+        for (PackageSummaryRow row : page) {
+            UUID id = row.getId();
+            if (documents.containsKey(id) || removedDuringRebuild.contains(id)) {
+                continue;
+            }
+            PendingUpdate update = updatedDuringRebuild.remove(id);
+            if (update != null) {
+                index(id, update.getName(), update.getDescription(), row.getCreatedAt());
+            } else {
+                index(id, row.getName(), row.getDescription(), row.getCreatedAt());
+            }
+            indexed++;
+        }
+        return indexed;
+    }
+
+    public synchronized void index(UUID id, String name, String description, Instant createdAt) {
+        unindex(id);
+        IndexedPackage document = new IndexedPackage(terms(name), terms(description), createdAt);
+        documents.put(id, document);
+        Posting posting = new Posting(id, createdAt);
+        for (String term : document.getNameTerms()) {
+            namePostings.computeIfAbsent(term, t -> new PostingList()).add(posting);
+        }
+        for (String term : document.getDescriptionTerms()) {
+            if (!document.getNameTerms().contains(term)) {
+                descriptionPostings.computeIfAbsent(term, t -> new PostingList()).add(posting);
+            }
+        }
+    }
+
+    /**
+     * Re-indexes name and description of an indexed package, keeping its creation time; no-op if unknown, except
+     * during a rebuild that has not reached the package yet.
+     */
+    public synchronized void reindex(UUID id, String name, String description) {
+        IndexedPackage current = documents.get(id);
+        if (current != null) {
+            index(id, name, description, current.getCreatedAt());
+        } else if (updatedDuringRebuild != null) {
+            updatedDuringRebuild.put(id, new PendingUpdate(name, description));
+        }
+    }
+
+    public synchronized void remove(UUID id) {
+        if (removedDuringRebuild != null) {
+            removedDuringRebuild.add(id);
+        }
+        unindex(id);
+    }
+
+    private void unindex(UUID id) {
+        IndexedPackage document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        Posting posting = new Posting(id, document.getCreatedAt());
+        for (String term : document.getNameTerms()) {
+            removePosting(namePostings, term, posting);
+        }
+        for (String term : document.getDescriptionTerms()) {
+            removePosting(descriptionPostings, term, posting);
+        }
+    }
+
+    private static void removePosting(Map<String, PostingList> postings, String term, Posting posting) {
+        PostingList list = postings.get(term);
+        if (list != null && list.remove(posting) && list.isEmpty()) {
+            postings.remove(term, list);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} hits ranked after {@code after} (null for the first page).
+     */
+    public Result search(String query, PackageSearchCursor after, int limit) {
+        List<String> tokens = new ArrayList<>(terms(query));
+        if (tokens.isEmpty()) {
+            return new Result(List.of(), false, 0);
+        }
+        Query match = new Query(tokens);
+        List<Hit> hits = new ArrayList<>(limit + 1);
+        for (Map.Entry<Integer, List<int[]>> group : match.combinationsByScore().entrySet()) {
+            int score = group.getKey();
+            if (after != null && score > after.getScore()) {
+                continue;
+            }
+            Posting from = after != null && score == after.getScore()
+                    ? new Posting(after.getId(), after.getCreatedAt())
+                    : null;
+            match.collect(score, group.getValue(), from, limit + 1 - hits.size(), hits);
+            if (hits.size() > limit) {
+                break;
+            }
+        }
+        boolean hasNext = hits.size() > limit;
+        return new Result(hasNext ? hits.subList(0, limit) : hits, hasNext, match.scanned);
+    }
+
+    /**
+     * Number of packages matching every token of {@code query}; walks all of them, unlike {@link #search}.
+     */
+    public int count(String query) {
+        List<String> tokens = new ArrayList<>(terms(query));
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        Query match = new Query(tokens);
+        int count = 0;
+        for (List<int[]> combinations : match.combinationsByScore().values()) {
+            for (int[] combination : combinations) {
+                Query.Matches matches = match.matches(combination, null);
+                while (matches.advance()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    static Set<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * One query's posting lists per token and weight, and the walk over them. For weight index {@code w} of
+     * {@link #WEIGHTS}, {@code sources[t][w]} holds every package whose best match for token {@code t} has that
+     * weight, plus packages that match it at a higher weight through another term (filtered out while walking).
+     */
+    private final class Query {
+
+        private final List<String> tokens;
+        private final List<List<List<PostingList>>> sources;
+        private final int[][] sizes;
+        private int scanned;
+
+        Query(List<String> tokens) {
+            this.tokens = tokens;
+            this.sources = new ArrayList<>(tokens.size());
+            this.sizes = new int[tokens.size()][WEIGHTS.length];
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                List<List<PostingList>> byWeight = List.of(
+                        exact(namePostings, token), prefixed(namePostings, token),
+                        exact(descriptionPostings, token), prefixed(descriptionPostings, token));
+                for (int w = 0; w < WEIGHTS.length; w++) {
+                    for (PostingList list : byWeight.get(w)) {
+                        sizes[t][w] += list.size();
+                    }
+                }
+                sources.add(byWeight);
+            }
+        }
+
+        /** Every combination of one weight index per token that can match, grouped by total score, best first. */
+        SortedMap<Integer, List<int[]>> combinationsByScore() {
+            SortedMap<Integer, List<int[]>> byScore = new TreeMap<>(Comparator.reverseOrder());
+            addCombinations(new int[tokens.size()], 0, 0, byScore);
+            return byScore;
+        }
+
+        private void addCombinations(int[] combination, int token, int score, Map<Integer, List<int[]>> byScore) {
+            if (token == tokens.size()) {
+                byScore.computeIfAbsent(score, s -> new ArrayList<>()).add(combination.clone());
+                return;
+            }
+            for (int w = 0; w < WEIGHTS.length; w++) {
+                if (sizes[token][w] > 0) {
+                    combination[token] = w;
+                    addCombinations(combination, token + 1, score + WEIGHTS[w], byScore);
+                }
+            }
+        }
+
+        /** Adds up to {@code wanted} hits of {@code score} after {@code from} (null: from the newest), newest first. */
+        void collect(int score, List<int[]> combinations, Posting from, int wanted, List<Hit> hits) {
+            PriorityQueue<Matches> newestFirst = new PriorityQueue<>(combinations.size(),
+                    Comparator.comparing(Matches::getHead, NEWEST_FIRST));
+            for (int[] combination : combinations) {
+                Matches matches = matches(combination, from);
+                if (matches.advance()) {
+                    newestFirst.add(matches);
+                }
+            }
+            for (int added = 0; added < wanted && !newestFirst.isEmpty(); added++) {
+                Matches next = newestFirst.poll();
+                Posting head = next.getHead();
+                hits.add(new Hit(head.getId(), score, head.getCreatedAt()));
+                if (next.advance()) {
+                    newestFirst.add(next);
+                }
+            }
+        }
+
+        /** Walks the smallest source of {@code combination}, keeping packages that match it exactly. */
+        Matches matches(int[] combination, Posting from) {
+            int driver = 0;
+            for (int t = 1; t < combination.length; t++) {
+                if (sizes[t][combination[t]] < sizes[driver][combination[driver]]) {
+                    driver = t;
+                }
+            }
+            return new Matches(combination, new PostingStream(sources.get(driver).get(combination[driver]), from));
+        }
+
+        private boolean matchesExactly(Posting posting, int[] combination) {
+            IndexedPackage document = documents.get(posting.getId());
+            if (document == null) {
+                return false;
+            }
+            for (int t = 0; t < combination.length; t++) {
+                if (document.weight(tokens.get(t)) != WEIGHTS[combination[t]]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private final class Matches {
+            private final int[] combination;
+            private final PostingStream postings;
+            @Getter
+            private Posting head;
+
+            Matches(int[] combination, PostingStream postings) {
+                this.combination = combination;
+                this.postings = postings;
+            }
+
+            boolean advance() {
+                for (Posting posting = postings.next(); posting != null; posting = postings.next()) {
+                    scanned++;
+                    if (matchesExactly(posting, combination)) {
+                        head = posting;
+                        return true;
+                    }
+                }
+                head = null;
+                return false;
+            }
+        }
+    }
+
+    private static List<PostingList> exact(Map<String, PostingList> postings, String token) {
+        PostingList list = postings.get(token);
+        return list == null ? List.of() : List.of(list);
+    }
+
+    /** Posting lists of the terms that start with {@code token} but are not equal to it. */
+    private static List<PostingList> prefixed(NavigableMap<String, PostingList> postings, String token) {
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            return List.of();
+        }
+        return new ArrayList<>(postings.subMap(token, false, token + Character.MAX_VALUE, true).values());
+    }
+
+    /** Newest-first merge of posting lists, from after {@code from} (null: from the newest), without duplicates. */
+    private static final class PostingStream {
+
+        private final PriorityQueue<Head> heads;
+        private Posting last;
+
+        PostingStream(List<PostingList> lists, Posting from) {
+            heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                    Comparator.comparing(Head::getPosting, NEWEST_FIRST));
+            for (PostingList list : lists) {
+                Iterator<Posting> postings = list.iteratorAfter(from);
+                if (postings.hasNext()) {
+                    heads.add(new Head(postings.next(), postings));
+                }
+            }
+        }
+
+        Posting next() {
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                Posting posting = head.getPosting();
+                if (head.getRest().hasNext()) {
+                    heads.add(new Head(head.getRest().next(), head.getRest()));
+                }
+                if (last == null || NEWEST_FIRST.compare(posting, last) != 0) {
+                    last = posting;
+                    return posting;
+                }
+            }
+            return null;
+        }
+
+        @Getter
+        @AllArgsConstructor
+        private static final class Head {
+            private final Posting posting;
+            private final Iterator<Posting> rest;
+        }
+    }
+
+    /** Packages posted under one term, newest first, with a size that is O(1) to read. */
+    private static final class PostingList {
+
+        private final ConcurrentSkipListSet<Posting> postings = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+        /** Written under the index lock; a racy read only skews the choice of which list to walk. */
+        private volatile int size;
+
+        void add(Posting posting) {
+            if (postings.add(posting)) {
+                size++;
+            }
+        }
+
+        boolean remove(Posting posting) {
+            if (postings.remove(posting)) {
+                size--;
+                return true;
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        Iterator<Posting> iteratorAfter(Posting from) {
+            return from == null ? postings.iterator() : postings.tailSet(from, false).iterator();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Posting {
+        private final UUID id;
+        private final Instant createdAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Hit {
+        private final UUID id;
+        private final int score;
+        private final Instant createdAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Result {
+        private final List<Hit> hits;
+        private final boolean hasNext;
+        /** Postings read to build the page; about {@code limit} unless many are skipped as other-weight matches. */
+        private final int scanned;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class PendingUpdate {
+        private final String name;
+        private final String description;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class IndexedPackage {
+        private final Set<String> nameTerms;
+        private final Set<String> descriptionTerms;
+        private final Instant createdAt;
+
+        /** The best of name term, name prefix, description term and description prefix; 0 if none matches. */
+        int weight(String token) {
+            return Math.max(weight(nameTerms, token, NAME_TERM, NAME_PREFIX),
+                    weight(descriptionTerms, token, DESCRIPTION_TERM, DESCRIPTION_PREFIX));
+        }
+
+        private static int weight(Set<String> terms, String token, int termWeight, int prefixWeight) {
+            if (terms.contains(token)) {
+                return termWeight;
+            }
+            if (token.length() >= MIN_PREFIX_LENGTH) {
+                for (String term : terms) {
+                    if (term.startsWith(token)) {
+                        return prefixWeight;
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.packageaggregator.service;
 
+import com.example.packageaggregator.api.PackageCursor;
+import com.example.packageaggregator.api.PackageSearchCursor;
+import com.example.packageaggregator.api.dto.BatchCreateResponseDto;
+import com.example.packageaggregator.api.dto.BatchItemResultDto;
 import com.example.packageaggregator.api.dto.CreatePackageRequest;
+import com.example.packageaggregator.api.dto.CursorPageDto;
+import com.example.packageaggregator.api.dto.PackageLookupDto;
 import com.example.packageaggregator.api.dto.PackageResponseDto;
 import com.example.packageaggregator.api.dto.PackageSummaryDto;
 import com.example.packageaggregator.api.dto.PageDto;
@@ -11,27 +17,46 @@ import com.example.packageaggregator.client.ProductClient;
 import com.example.packageaggregator.client.dto.ExternalProductResponse;
 import com.example.packageaggregator.domain.entity.PackageEntity;
 import com.example.packageaggregator.domain.entity.PackageProductEntity;
+import com.example.packageaggregator.domain.pricing.CurrencyConversion;
+import com.example.packageaggregator.domain.readmodel.PackageSnapshot;
 import com.example.packageaggregator.exception.InvalidProductException;
 import com.example.packageaggregator.exception.PackageNotFoundException;
 import com.example.packageaggregator.repository.PackageJpaRepository;
+import com.example.packageaggregator.repository.projection.PackageSummaryRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class PackageService {
@@ -41,105 +66,350 @@ public class PackageService {
     private final PackageJpaRepository packageRepository;
     private final ProductClient productClient;
     private final ExchangeRateClient exchangeRateClient;
+    private final PackageCounter packageCounter;
+    private final PackageNearCache packageNearCache;
+    private final PackageSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${package.batch.chunk-size:500}")
+    private int batchChunkSize;
 
     /**
      * Fetch and validate products outside the transaction, then persist in a short DB-only transaction.
      * Avoids holding a DB connection while calling external APIs (anti-pattern).
      */
     public PackageResponseDto create(CreatePackageRequest request) {
-        if (request.getProductIds() == null || request.getProductIds().isEmpty()) {
-            throw new InvalidProductException("At least one product is required");
-        }
-        List<String> uniqueIds = new ArrayList<>(new LinkedHashSet<>(request.getProductIds()));
+        List<String> uniqueIds = PackageDraft.uniqueProductIds(request);
         log.info("Creating package '{}' with {} product(s)", request.getName(), uniqueIds.size());
 
         Map<String, ExternalProductResponse> productMap = productClient.getProductsByIds(uniqueIds);
-        if (productMap.size() != uniqueIds.size()) {
-            throw new InvalidProductException("One or more products do not exist or are unavailable");
+        PackageEntity entity = persistPackage(newPackage(request, PackageDraft.ofAll(uniqueIds, productMap)));
+        packageCounter.added(1);
+        searchIndex.index(entity.getId(), entity.getName(), entity.getDescription(), entity.getCreatedAt());
+        return toResponseWithCurrency(entity, DEFAULT_CURRENCY);
+    }
+
+    @Transactional
+    protected PackageEntity persistPackage(PackageEntity entity) {
+        return packageRepository.save(entity);
+    }
+
+    /**
+     * Creates many packages with one product lookup for the union of their product ids. Items are validated
+     * and priced independently; valid ones are inserted with {@code saveAll} in transactions of
+     * {@code package.batch.chunk-size} packages, so a bad item or a failed chunk does not sink the others.
+     * If the product service is unavailable the whole batch fails with 503, as a single create would.
+     *
+     * @return one result per request, in request order
+     */
+    public BatchCreateResponseDto createBatch(List<CreatePackageRequest> requests) {
+        BatchItemResultDto[] results = new BatchItemResultDto[requests.size()];
+        List<List<String>> uniqueIdsByItem = new ArrayList<>(requests.size());
+        Set<String> allIds = new LinkedHashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreatePackageRequest request = requests.get(i);
+            String violation = firstViolation(request);
+            if (violation != null) {
+                results[i] = PackageMapper.toFailedItem(i, violation);
+                uniqueIdsByItem.add(null);
+                continue;
+            }
+            List<String> uniqueIds = PackageDraft.uniqueProductIds(request);
+            uniqueIdsByItem.add(uniqueIds);
+            allIds.addAll(uniqueIds);
         }
+        log.info("Creating {} package(s) in batch with {} distinct product(s)", requests.size(), allIds.size());
 
-        List<PackageProductEntity> productEntities = new ArrayList<>();
-        BigDecimal totalUsd = BigDecimal.ZERO;
+        Map<String, ExternalProductResponse> productMap = allIds.isEmpty()
+                ? Map.of()
+                : productClient.getProductsByIds(new ArrayList<>(allIds));
 
-        for (String productId : uniqueIds) {
-            ExternalProductResponse external = productMap.get(productId);
-            if (external == null || external.getUsdPrice() == null) {
-                throw new InvalidProductException("Invalid or missing product data for id: " + productId);
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<PackageEntity> pending = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> uniqueIds = uniqueIdsByItem.get(i);
+            if (uniqueIds == null) {
+                continue;
+            }
+            try {
+                pending.add(newPackage(requests.get(i), PackageDraft.of(uniqueIds, productMap)));
+                pendingIndexes.add(i);
+            } catch (InvalidProductException e) {
+                results[i] = PackageMapper.toFailedItem(i, e.getMessage());
             }
-            BigDecimal price = external.getUsdPrice();
-            totalUsd = totalUsd.add(price);
-            productEntities.add(PackageProductEntity.builder()
-                    .externalProductId(external.getId())
-                    .productName(external.getName())
-                    .productPriceUsd(price)
-                    .build());
         }
 
-        PackageEntity entity = persistPackage(request.getName(), request.getDescription(), totalUsd, productEntities);
-        return toResponseWithCurrency(entity, DEFAULT_CURRENCY);
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, pending.size());
+            List<PackageEntity> chunk = pending.subList(from, to);
+            List<Integer> chunkIndexes = pendingIndexes.subList(from, to);
+            try {
+                List<PackageEntity> saved = transactionTemplate.execute(status -> packageRepository.saveAll(chunk));
+                packageCounter.added(chunk.size());
+                for (int j = 0; j < chunk.size(); j++) {
+                    int index = chunkIndexes.get(j);
+                    PackageEntity entity = saved.get(j);
+                    searchIndex.index(entity.getId(), entity.getName(), entity.getDescription(), entity.getCreatedAt());
+                    results[index] = PackageMapper.toCreatedItem(index, toResponseWithCurrency(entity, DEFAULT_CURRENCY));
+                }
+            } catch (DataAccessException e) {
+                log.warn("Failed to persist batch chunk of {} package(s): {}", chunk.size(), e.getMessage());
+                for (int index : chunkIndexes) {
+                    results[index] = PackageMapper.toFailedItem(index, "Package could not be saved");
+                }
+            }
+        }
+        return PackageMapper.toBatchCreateResponse(Arrays.asList(results));
     }
 
-    @Transactional
-    protected PackageEntity persistPackage(String name, String description, BigDecimal totalUsd,
-                                          List<PackageProductEntity> productEntities) {
+    private String firstViolation(CreatePackageRequest request) {
+        if (request == null) {
+            return "Package is required";
+        }
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Builds an unsaved package from its priced products, snapshotting each product's name and USD price.
+     */
+    private PackageEntity newPackage(CreatePackageRequest request, PackageDraft draft) {
         PackageEntity entity = PackageEntity.builder()
-                .name(name)
-                .description(description)
-                .totalPriceUsd(totalUsd)
+                .name(request.getName())
+                .description(request.getDescription())
+                .totalPriceUsd(draft.getTotalPriceUsd())
                 .createdAt(Instant.now())
                 .deleted(false)
                 .build();
 
-        for (PackageProductEntity pe : productEntities) {
-            pe.setPackageEntity(entity);
-            entity.getProducts().add(pe);
+        for (ExternalProductResponse external : draft.getProducts()) {
+            entity.getProducts().add(PackageProductEntity.builder()
+                    .packageEntity(entity)
+                    .externalProductId(external.getId())
+                    .productName(external.getName())
+                    .productPriceUsd(external.getUsdPrice())
+                    .build());
         }
-        return packageRepository.save(entity);
+        return entity;
+    }
+
+    /**
+     * {@code GET /packages/{id}}: ETag and body from one snapshot and one rate. Served from
+     * {@link PackageNearCache}, so a conditional GET for a hot package touches neither the database nor the
+     * mapper. Not transactional: on a near-cache hit no connection is taken at all; a miss runs one fetch-join
+     * query in the repository's own read-only transaction.
+     *
+     * @throws PackageNotFoundException if the package does not exist or is deleted
+     */
+    public PackageDetailView getDetail(UUID id, String currency) {
+        String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
+        PackageSnapshot snapshot = getSnapshot(id);
+        BigDecimal rate = getRateForCurrency(targetCurrency);
+        BigDecimal convertedTotal = CurrencyConversion.fromUsd(snapshot.getTotalPriceUsd(), rate);
+        return new PackageDetailView(snapshot, targetCurrency, rate, convertedTotal);
+    }
+
+    private PackageSnapshot getSnapshot(UUID id) {
+        PackageSnapshot snapshot = packageNearCache.get(id, key -> packageRepository.findByIdAndDeletedFalse(key)
+                .map(PackageSnapshot::of)
+                .orElse(null));
+        if (snapshot == null) {
+            throw new PackageNotFoundException(id);
+        }
+        return snapshot;
     }
 
+    /**
+     * Loads many packages with their products in one query and converts them all with a single rate.
+     * Ids that do not exist or are deleted are listed in {@code missing}; packages keep the request order.
+     */
     @Transactional(readOnly = true)
-    public PackageResponseDto getById(UUID id, String currency) {
+    public PackageLookupDto getByIds(Collection<UUID> ids, String currency) {
         String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
-        PackageEntity entity = packageRepository.findByIdAndDeletedFalse(id)
-                .orElseThrow(() -> new PackageNotFoundException(id));
-        return toResponseWithCurrency(entity, targetCurrency);
+        Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+        BigDecimal rate = getRateForCurrency(targetCurrency);
+        Map<UUID, PackageEntity> found = packageRepository.findDistinctByIdInAndDeletedFalse(uniqueIds).stream()
+                .collect(Collectors.toMap(PackageEntity::getId, entity -> entity));
+        List<PackageResponseDto> packages = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : uniqueIds) {
+            PackageEntity entity = found.get(id);
+            if (entity == null) {
+                missing.add(id);
+            } else {
+                BigDecimal convertedTotal = CurrencyConversion.fromUsd(entity.getTotalPriceUsd(), rate);
+                packages.add(PackageMapper.toResponseDto(entity, convertedTotal, targetCurrency, rate));
+            }
+        }
+        return PackageMapper.toLookupDto(packages, missing);
     }
 
     @Transactional(readOnly = true)
     public PageDto<PackageSummaryDto> getAll(Pageable pageable, String currency) {
         String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
         BigDecimal rate = getRateForCurrency(targetCurrency);
-        Page<PackageEntity> page = packageRepository.findAllByDeletedFalse(pageable);
+        Page<PackageSummaryRow> page = packageRepository.findSummariesByDeletedFalse(pageable);
         List<PackageSummaryDto> content = page.getContent().stream()
-                .map(entity -> {
-                    BigDecimal converted = convertTotalWithRate(entity.getTotalPriceUsd(), rate);
-                    return PackageMapper.toSummaryDto(entity, converted, targetCurrency);
+                .map(row -> {
+                    BigDecimal converted = CurrencyConversion.fromUsd(row.getTotalPriceUsd(), rate);
+                    return PackageMapper.toSummaryDto(row, converted, targetCurrency);
                 })
                 .collect(Collectors.toList());
         return PackageMapper.toPageDto(page, content);
     }
 
+    /**
+     * Keyset page of packages, newest first. Fetches one row beyond {@code size} to learn whether a next page
+     * exists, so no COUNT(*) runs; the total is only included on request and comes from {@link PackageCounter}.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null/blank for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PackageSummaryDto> getPage(String cursor, int size, String currency, boolean includeTotal) {
+        String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
+        BigDecimal rate = getRateForCurrency(targetCurrency);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PackageSummaryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = packageRepository.findFirstPage(limit);
+        } else {
+            PackageCursor after = PackageCursor.decode(cursor);
+            rows = packageRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+        boolean hasNext = rows.size() > size;
+        List<PackageSummaryRow> page = hasNext ? rows.subList(0, size) : rows;
+        List<PackageSummaryDto> content = page.stream()
+                .map(row -> {
+                    BigDecimal converted = CurrencyConversion.fromUsd(row.getTotalPriceUsd(), rate);
+                    return PackageMapper.toSummaryDto(row, converted, targetCurrency);
+                })
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasNext) {
+            PackageSummaryRow last = page.get(page.size() - 1);
+            nextCursor = new PackageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        Long total = includeTotal ? packageCounter.get() : null;
+        return PackageMapper.toCursorPageDto(content, size, nextCursor, total);
+    }
+
+    /**
+     * Ranked search over package names and descriptions via {@link PackageSearchIndex}; only the rows of the
+     * returned page are read from the database. Totals are converted as in {@link #getAll}.
+     *
+     * @param cursor       {@code nextCursor} of the previous page, or null/blank for the first page
+     * @param includeTotal whether to count all matches, which walks every one of them
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PackageSummaryDto> search(String query, String cursor, int size, String currency,
+                                                   boolean includeTotal) {
+        String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
+        BigDecimal rate = getRateForCurrency(targetCurrency);
+        PackageSearchCursor after = cursor == null || cursor.isBlank() ? null : PackageSearchCursor.decode(cursor);
+        PackageSearchIndex.Result result = searchIndex.search(query, after, size);
+        List<UUID> ids = result.getHits().stream().map(PackageSearchIndex.Hit::getId).collect(Collectors.toList());
+        Map<UUID, PackageSummaryRow> rows = ids.isEmpty()
+                ? Map.of()
+                : packageRepository.findSummariesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(PackageSummaryRow::getId, row -> row));
+        List<PackageSummaryDto> content = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            PackageSummaryRow row = rows.get(id);
+            if (row != null) {
+                BigDecimal converted = CurrencyConversion.fromUsd(row.getTotalPriceUsd(), rate);
+                content.add(PackageMapper.toSummaryDto(row, converted, targetCurrency));
+            }
+        }
+        String nextCursor = null;
+        if (result.isHasNext()) {
+            PackageSearchIndex.Hit last = result.getHits().get(result.getHits().size() - 1);
+            nextCursor = new PackageSearchCursor(last.getScore(), last.getCreatedAt(), last.getId()).encode();
+        }
+        Long total = includeTotal ? (long) searchIndex.count(query) : null;
+        return PackageMapper.toCursorPageDto(content, size, nextCursor, total);
+    }
+
+    /**
+     * Prepares a full export of non-deleted packages, newest first. The rate is resolved now, so an unavailable
+     * exchange rate service fails the request before anything is written; the returned export then streams rows
+     * from a database cursor in a read-only transaction, one line per package through a fixed-size buffer, so
+     * memory use does not grow with the number of packages.
+     */
+    public PackageExport export(PackageExportFormat format, String currency) {
+        String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
+        BigDecimal rate = getRateForCurrency(targetCurrency);
+        return out -> {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+            try {
+                readOnly.executeWithoutResult(status -> {
+                    try (Stream<PackageSummaryRow> rows = packageRepository.streamAllSummaries()) {
+                        PackageExportWriter writer = PackageExportWriter.open(format, out, objectMapper);
+                        Iterator<PackageSummaryRow> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            PackageSummaryRow row = iterator.next();
+                            BigDecimal converted = CurrencyConversion.fromUsd(row.getTotalPriceUsd(), rate);
+                            writer.write(PackageMapper.toSummaryDto(row, converted, targetCurrency));
+                        }
+                        writer.finish();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    /**
+     * Updates name and description with a single UPDATE statement; the package is only loaded afterwards, and
+     * only when {@code returnRepresentation} is set.
+     *
+     * @return the updated package in USD, or null when {@code returnRepresentation} is false
+     */
     @Transactional
-    public PackageResponseDto update(UUID id, UpdatePackageRequest request) {
+    public PackageResponseDto update(UUID id, UpdatePackageRequest request, boolean returnRepresentation) {
+        if (packageRepository.updateDetails(id, request.getName(), request.getDescription()) == 0) {
+            throw new PackageNotFoundException(id);
+        }
+        packageNearCache.invalidateAfterCommit(id);
+        AfterCommit.run(() -> searchIndex.reindex(id, request.getName(), request.getDescription()));
+        if (!returnRepresentation) {
+            return null;
+        }
         PackageEntity entity = packageRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new PackageNotFoundException(id));
-        entity.setName(request.getName());
-        entity.setDescription(request.getDescription());
-        entity = packageRepository.save(entity);
         return toResponseWithCurrency(entity, DEFAULT_CURRENCY);
     }
 
+    /**
+     * Flags the package deleted with a single UPDATE statement. When no row changed, one existence check tells
+     * an unknown id (404) from an already-deleted package (idempotent no-op).
+     */
     @Transactional
     public void softDelete(UUID id) {
-        PackageEntity entity = packageRepository.findById(id)
-                .orElseThrow(() -> new PackageNotFoundException(id));
-        entity.setDeleted(true);
+        if (packageRepository.softDeleteById(id) == 0) {
+            if (!packageRepository.existsById(id)) {
+                throw new PackageNotFoundException(id);
+            }
+            log.info("Package already deleted: {}", id);
+            return;
+        }
+        AfterCommit.run(packageCounter::removed);
+        AfterCommit.run(() -> searchIndex.remove(id));
+        packageNearCache.invalidateAfterCommit(id);
         log.info("Soft deleted package: {}", id);
     }
 
     private PackageResponseDto toResponseWithCurrency(PackageEntity entity, String currency) {
         BigDecimal rate = getRateForCurrency(currency);
-        BigDecimal convertedTotal = convertTotalWithRate(entity.getTotalPriceUsd(), rate);
+        BigDecimal convertedTotal = CurrencyConversion.fromUsd(entity.getTotalPriceUsd(), rate);
         return PackageMapper.toResponseDto(entity, convertedTotal, currency, rate);
     }
 
@@ -149,19 +419,4 @@ public class PackageService {
         }
         return exchangeRateClient.getRateUsdTo(currency);
     }
-
-    private BigDecimal convertTotal(BigDecimal totalUsd, String currency) {
-        if (totalUsd == null) {
-            return BigDecimal.ZERO;
-        }
-        BigDecimal rate = getRateForCurrency(currency);
-        return convertTotalWithRate(totalUsd, rate);
-    }
-
-    private BigDecimal convertTotalWithRate(BigDecimal totalUsd, BigDecimal rate) {
-        if (totalUsd == null) {
-            return BigDecimal.ZERO;
-        }
-        return totalUsd.multiply(rate).setScale(2, RoundingMode.HALF_UP);
-    }
 }
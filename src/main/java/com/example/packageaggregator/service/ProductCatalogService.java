@@ -0,0 +1,102 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.dto.ProductDto;
+import com.example.packageaggregator.api.mapper.ProductMapper;
+import com.example.packageaggregator.client.ExchangeRateClient;
+import com.example.packageaggregator.client.ProductClient;
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the product catalog for {@code GET /products}. The catalog and rates change at most every few
+ * minutes, so each currency's response is rendered once per (catalog version, rate) into a
+ * {@link ProductCatalogView} and reused until either changes.
+ */
+@Service
+@Slf4j
+public class ProductCatalogService {
+
+    private final ProductClient productClient;
+    private final ExchangeRateClient exchangeRateClient;
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+    private final Map<String, ProductCatalogView> views = new ConcurrentHashMap<>();
+
+    public ProductCatalogService(ProductClient productClient,
+                                 ExchangeRateClient exchangeRateClient,
+                                 ObjectMapper objectMapper,
+                                 @Value("${product-catalog.gzip.enabled:true}") boolean gzipEnabled,
+                                 @Value("${product-catalog.gzip.min-bytes:1024}") int gzipMinBytes) {
+        this.productClient = productClient;
+        this.exchangeRateClient = exchangeRateClient;
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    public ProductCatalogView getCatalogView(String currency) {
+        BigDecimal rate = exchangeRateClient.getRateUsdTo(currency);
+        List<ExternalProductResponse> catalog = productClient.getProducts();
+        return viewFor(catalog, rate, currency);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getCatalogView(String)} for the reactive stack; the rate and the catalog
+     * are resolved concurrently.
+     */
+    public Mono<ProductCatalogView> findCatalogView(String currency) {
+        return Mono.zip(exchangeRateClient.findRateUsdTo(currency), productClient.findProducts())
+                .map(rateAndCatalog -> viewFor(rateAndCatalog.getT2(), rateAndCatalog.getT1(), currency));
+    }
+
+    private ProductCatalogView viewFor(List<ExternalProductResponse> catalog, BigDecimal rate, String currency) {
+        ProductCatalogView current = views.get(currency);
+        if (current != null && current.isFor(catalog, rate)) {
+            return current;
+        }
+        return views.compute(currency, (key, existing) -> existing != null && existing.isFor(catalog, rate)
+                ? existing
+                : render(catalog, rate, currency));
+    }
+
+    private ProductCatalogView render(List<ExternalProductResponse> catalog, BigDecimal rate, String currency) {
+        List<ProductDto> dtos = ProductMapper.toProductDtos(catalog, rate, currency);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(dtos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize product catalog", e);
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        byte[] gzipJson = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+        String gzipEtag = gzipJson != null ? etag.substring(0, etag.length() - 1) + "-gzip\"" : null;
+        log.info("Rendered product catalog for {}: {} product(s), {} bytes", currency, dtos.size(), json.length);
+        return new ProductCatalogView(catalog, rate, currency, json, etag, gzipJson, gzipEtag);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.packageaggregator.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The product catalog in one currency, already encoded as JSON (and optionally gzip), for one
+ * (catalog version, rate) pair. Immutable; the byte arrays must not be modified by callers.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ProductCatalogView {
+
+    @Getter(AccessLevel.NONE)
+    private final List<?> catalog;
+    @Getter(AccessLevel.NONE)
+    private final BigDecimal rate;
+
+    private final String currency;
+    private final byte[] json;
+    private final String etag;
+    /** Gzip-compressed {@link #getJson()}, or null when compression is disabled or not worth it. */
+    private final byte[] gzipJson;
+    private final String gzipEtag;
+
+    /**
+     * The catalog list is compared by identity: {@link com.example.packageaggregator.client.ProductClient}
+     * returns the same cached instance until the catalog is reloaded.
+     */
+    boolean isFor(List<?> currentCatalog, BigDecimal currentRate) {
+        return catalog == currentCatalog && rate.compareTo(currentRate) == 0;
+    }
+}
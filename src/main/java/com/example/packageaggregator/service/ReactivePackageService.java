@@ -0,0 +1,183 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.dto.CreatePackageRequest;
+import com.example.packageaggregator.api.dto.PackageResponseDto;
+import com.example.packageaggregator.api.dto.PackageSummaryDto;
+import com.example.packageaggregator.api.dto.PageDto;
+import com.example.packageaggregator.api.dto.UpdatePackageRequest;
+import com.example.packageaggregator.api.mapper.PackageMapper;
+import com.example.packageaggregator.client.ExchangeRateClient;
+import com.example.packageaggregator.client.ProductClient;
+import com.example.packageaggregator.domain.id.TimeOrderedUuids;
+import com.example.packageaggregator.domain.pricing.CurrencyConversion;
+import com.example.packageaggregator.domain.readmodel.PackageSnapshot;
+import com.example.packageaggregator.domain.relational.PackageProductRecord;
+import com.example.packageaggregator.domain.relational.PackageRecord;
+import com.example.packageaggregator.exception.PackageNotFoundException;
+import com.example.packageaggregator.repository.projection.PackageSummaryRow;
+import com.example.packageaggregator.repository.reactive.PackageProductR2dbcRepository;
+import com.example.packageaggregator.repository.reactive.PackageR2dbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PackageService} for the {@code reactive} profile: create, list, get, update and soft delete, with the
+ * same validation, pricing ({@link PackageDraft}) and errors. Products and rates come from the clients'
+ * non-blocking variants and rows from R2DBC, so a request waiting on a slow dependency or the database holds
+ * no thread.
+ * <p>
+ * Only the endpoints served by this stack are covered; the search index, package counter and near cache back
+ * servlet-only endpoints and are not maintained here.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePackageService {
+
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private final PackageR2dbcRepository packageRepository;
+    private final PackageProductR2dbcRepository productRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final ProductClient productClient;
+    private final ExchangeRateClient exchangeRateClient;
+
+    /**
+     * Fetches the products, then inserts the package and its product lines in one R2DBC transaction.
+     */
+    public Mono<PackageResponseDto> create(CreatePackageRequest request) {
+        return Mono.fromCallable(() -> PackageDraft.uniqueProductIds(request))
+                .flatMap(uniqueIds -> {
+                    log.info("Creating package '{}' with {} product(s)", request.getName(), uniqueIds.size());
+                    return productClient.findProductsByIds(uniqueIds)
+                            .flatMap(productMap -> insert(request, PackageDraft.ofAll(uniqueIds, productMap)));
+                })
+                .map(snapshot -> toResponse(snapshot, DEFAULT_CURRENCY, BigDecimal.ONE));
+    }
+
+    private Mono<PackageSnapshot> insert(CreatePackageRequest request, PackageDraft draft) {
+        UUID packageId = TimeOrderedUuids.next();
+        List<PackageProductRecord> products = draft.getProducts().stream()
+                .map(external -> PackageProductRecord.builder()
+                        .id(TimeOrderedUuids.next())
+                        .packageId(packageId)
+                        .externalProductId(external.getId())
+                        .productName(external.getName())
+                        .productPriceUsd(external.getUsdPrice())
+                        .build())
+                .collect(Collectors.toList());
+        PackageRecord record = PackageRecord.builder()
+                .id(packageId)
+                .name(request.getName())
+                .description(request.getDescription())
+                .totalPriceUsd(draft.getTotalPriceUsd())
+                .createdAt(LocalDateTime.now())
+                .deleted(false)
+                .build();
+        return entityTemplate.insert(record)
+                .thenMany(Flux.fromIterable(products).concatMap(entityTemplate::insert))
+                .then(Mono.fromSupplier(() -> snapshot(record, products)))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<PackageResponseDto> getById(UUID id, String currency) {
+        String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
+        return Mono.zip(findSnapshot(id), exchangeRateClient.findRateUsdTo(targetCurrency))
+                .map(snapshotAndRate -> toResponse(snapshotAndRate.getT1(), targetCurrency, snapshotAndRate.getT2()));
+    }
+
+    /**
+     * Runs the rate lookup, the page query and the count concurrently.
+     */
+    public Mono<PageDto<PackageSummaryDto>> getAll(Pageable pageable, String currency) {
+        String targetCurrency = currency != null && !currency.isBlank() ? currency : DEFAULT_CURRENCY;
+        return Mono.zip(exchangeRateClient.findRateUsdTo(targetCurrency),
+                        packageRepository.findByDeletedFalse(pageable).collectList(),
+                        packageRepository.countByDeletedFalse())
+                .map(result -> {
+                    BigDecimal rate = result.getT1();
+                    List<PackageSummaryDto> content = result.getT2().stream()
+                            .map(record -> PackageMapper.toSummaryDto(summaryRow(record),
+                                    CurrencyConversion.fromUsd(record.getTotalPriceUsd(), rate), targetCurrency))
+                            .collect(Collectors.toList());
+                    return PackageMapper.toPageDto(new PageImpl<>(result.getT2(), pageable, result.getT3()), content);
+                });
+    }
+
+    /**
+     * Single UPDATE statement, as in {@link PackageService#update}; completes empty when
+     * {@code returnRepresentation} is false.
+     */
+    public Mono<PackageResponseDto> update(UUID id, UpdatePackageRequest request, boolean returnRepresentation) {
+        Mono<Integer> updated = packageRepository.updateDetails(id, request.getName(), request.getDescription())
+                .filter(rows -> rows > 0)
+                .switchIfEmpty(Mono.error(() -> new PackageNotFoundException(id)));
+        if (!returnRepresentation) {
+            return updated.then(Mono.empty());
+        }
+        return updated.then(findSnapshot(id))
+                .map(snapshot -> toResponse(snapshot, DEFAULT_CURRENCY, BigDecimal.ONE));
+    }
+
+    /**
+     * Idempotent like {@link PackageService#softDelete}: an already-deleted package completes normally, an
+     * unknown id fails with {@link PackageNotFoundException}.
+     */
+    public Mono<Void> softDelete(UUID id) {
+        return packageRepository.softDeleteById(id)
+                .flatMap(rows -> {
+                    if (rows > 0) {
+                        log.info("Soft deleted package: {}", id);
+                        return Mono.<Void>empty();
+                    }
+                    return packageRepository.existsById(id).flatMap(exists -> {
+                        if (!exists) {
+                            return Mono.<Void>error(new PackageNotFoundException(id));
+                        }
+                        log.info("Package already deleted: {}", id);
+                        return Mono.<Void>empty();
+                    });
+                });
+    }
+
+    private Mono<PackageSnapshot> findSnapshot(UUID id) {
+        return packageRepository.findByIdAndDeletedFalse(id)
+                .switchIfEmpty(Mono.error(() -> new PackageNotFoundException(id)))
+                .flatMap(record -> productRepository.findByPackageId(id).collectList()
+                        .map(products -> snapshot(record, products)));
+    }
+
+    private static PackageSnapshot snapshot(PackageRecord record, List<PackageProductRecord> products) {
+        List<PackageSnapshot.Product> lines = products.stream()
+                .map(p -> new PackageSnapshot.Product(p.getExternalProductId(), p.getProductName(), p.getProductPriceUsd()))
+                .collect(Collectors.toUnmodifiableList());
+        return new PackageSnapshot(record.getId(), record.getName(), record.getDescription(), record.getTotalPriceUsd(),
+                record.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant(), record.getVersion(), lines);
+    }
+
+    private static PackageSummaryRow summaryRow(PackageRecord record) {
+        return new PackageSummaryRow(record.getId(), record.getName(), record.getDescription(), record.getTotalPriceUsd(),
+                record.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static PackageResponseDto toResponse(PackageSnapshot snapshot, String currency, BigDecimal rate) {
+        return PackageMapper.toResponseDto(snapshot, CurrencyConversion.fromUsd(snapshot.getTotalPriceUsd(), rate), currency, rate);
+    }
+}
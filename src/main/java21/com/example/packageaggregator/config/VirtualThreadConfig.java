@@ -0,0 +1,44 @@
+package com.example.packageaggregator.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21 build only ({@code -Pjava21}, source set {@code src/main/java21}). Runs servlet requests and async
+ * request processing (streamed export and import) on virtual threads, one per task. A request blocked in
+ * {@code ProductClient} or {@code ExchangeRateClient} then parks its virtual thread instead of holding one of
+ * Tomcat's {@code server.tomcat.threads.max} platform threads, so concurrency is bounded by the dependency
+ * connection pools ({@code http-clients.*}) and the JDBC pool instead.
+ * <p>
+ * {@code virtual-threads.enabled=false} restores the platform-thread pools on the same build, for comparison.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestExecutor() {
+        log.info("Handling servlet requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    /** Replaces Boot's bounded {@code applicationTaskExecutor}, which Spring MVC uses for async requests. */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-vt-", 0).factory()));
+    }
+}
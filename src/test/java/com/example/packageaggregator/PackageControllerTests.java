@@ -1,28 +1,50 @@
 package com.example.packageaggregator;
 
+import com.example.packageaggregator.api.dto.UpdatePackageRequest;
 import com.example.packageaggregator.client.ExchangeRateClient;
 import com.example.packageaggregator.client.ProductClient;
 import com.example.packageaggregator.client.dto.ExternalProductResponse;
 import com.example.packageaggregator.repository.PackageJpaRepository;
+import com.example.packageaggregator.service.PackageService;
 import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Map;
+import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -35,6 +57,15 @@ class PackageControllerTests {
     @Autowired
     private PackageJpaRepository packageRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PackageService packageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @MockBean
     private ProductClient productClient;
 
@@ -108,6 +139,330 @@ class PackageControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createBatch_reportsEachItem() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("5.00")).build(),
+                "id-2", ExternalProductResponse.builder().id("id-2").name("P2").usdPrice(new BigDecimal("7.50")).build()
+        ));
+        String body = "{\"packages\":["
+                + "{\"name\":\"Batch A\",\"productIds\":[\"id-1\",\"id-2\"]},"
+                + "{\"name\":\"\",\"productIds\":[\"id-1\"]},"
+                + "{\"name\":\"Batch C\",\"productIds\":[\"id-2\",\"id-missing\"]},"
+                + "{\"name\":\"Batch D\",\"productIds\":[\"id-2\"]}]}";
+        mockMvc.perform(post("/packages/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].result.totalPrice").value(12.5))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].error").value("Name is required"))
+                .andExpect(jsonPath("$.results[2].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[3].index").value(3))
+                .andExpect(jsonPath("$.results[3].status").value("CREATED"));
+        verify(productClient, times(1)).getProductsByIds(anyList());
+    }
+
+    @Test
+    void createBatch_empty_returns400() throws Exception {
+        mockMvc.perform(post("/packages/batch").contentType(MediaType.APPLICATION_JSON).content("{\"packages\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPackagesByIds_listsMissingIdsSeparately() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        when(exchangeRateClient.getRateUsdTo("EUR")).thenReturn(new BigDecimal("0.5"));
+        String createBody = "{\"name\":\"Lookup Pack\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        String created = mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(created, "$.id");
+        String unknownId = UUID.randomUUID().toString();
+
+        mockMvc.perform(get("/packages").param("ids", id + "," + unknownId).param("currency", "EUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.packages.length()").value(1))
+                .andExpect(jsonPath("$.packages[0].id").value(id))
+                .andExpect(jsonPath("$.packages[0].totalPrice").value(5.0))
+                .andExpect(jsonPath("$.packages[0].products.length()").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(unknownId));
+
+        mockMvc.perform(post("/packages/lookup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + id + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.packages.length()").value(1))
+                .andExpect(jsonPath("$.missing").isEmpty());
+    }
+
+    @Test
+    void getPackageById_returns304WhenEtagMatches() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        String createBody = "{\"name\":\"Etag Pack\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        String created = mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(created, "$.id");
+
+        String etag = mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/packages/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/packages/" + id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Etag Pack v2\",\"description\":\"\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/packages/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Etag Pack v2"));
+    }
+
+    @Test
+    void getPackageById_etagFollowsOnlyTheRequestedCurrencysRate() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        when(exchangeRateClient.getRateUsdTo("EUR")).thenReturn(new BigDecimal("0.5"));
+        when(exchangeRateClient.getRateUsdTo("GBP")).thenReturn(new BigDecimal("0.8"));
+        String createBody = "{\"name\":\"Rate Pack\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        String created = mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(created, "$.id");
+        String etag = mockMvc.perform(get("/packages/" + id).param("currency", "EUR"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        when(exchangeRateClient.getRateUsdTo("GBP")).thenReturn(new BigDecimal("0.7"));
+        mockMvc.perform(get("/packages/" + id).param("currency", "EUR").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        when(exchangeRateClient.getRateUsdTo("EUR")).thenReturn(new BigDecimal("0.6"));
+        mockMvc.perform(get("/packages/" + id).param("currency", "EUR").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.totalPrice").value(6.0));
+    }
+
+    @Test
+    void packageInsertedWithoutVersion_isVersionedAndUpdatable() throws Exception {
+        UUID id = UUID.randomUUID();
+        byte[] idBytes = ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+        jdbcTemplate.update("INSERT INTO packages (id, name, description, total_price_usd, created_at, deleted)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", idBytes, "Seeded", "", new BigDecimal("10.0000"), Timestamp.from(Instant.now()), false);
+
+        mockMvc.perform(put("/packages/" + id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Seeded v2\",\"description\":\"\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"" + id + ".1.")))
+                .andExpect(jsonPath("$.name").value("Seeded v2"));
+    }
+
+    @Test
+    void getPackageById_afterUpdate_servesNewName() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        String createBody = "{\"name\":\"Cached Pack\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        String created = mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(created, "$.id");
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cached Pack"));
+
+        mockMvc.perform(put("/packages/" + id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cached Pack v2\",\"description\":\"\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cached Pack v2"));
+    }
+
+    @Test
+    void getPackageById_afterDelete_returns404() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        String createBody = "{\"name\":\"Cached Delete\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        String created = mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(created, "$.id");
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/packages/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPackageById_rolledBackUpdateKeepsCachedSnapshot() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        String createBody = "{\"name\":\"Cached Rollback\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        String created = mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        UUID id = UUID.fromString(JsonPath.read(created, "$.id"));
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk());
+        // Bypasses the cache, so a GET only shows this name if the cached snapshot was dropped.
+        jdbcTemplate.update("UPDATE packages SET name = ? WHERE id = ?", "Changed Out Of Band", uuidBytes(id));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            packageService.update(id, new UpdatePackageRequest("Rolled Back", ""), false);
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cached Rollback"));
+    }
+
+    @Test
+    void updatePackage_preferMinimal_returns204() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        String createBody = "{\"name\":\"Minimal Pack\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        String created = mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(put("/packages/" + id).header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Minimal Pack v2\",\"description\":\"\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Preference-Applied", "return=minimal"));
+        mockMvc.perform(get("/packages/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Minimal Pack v2"));
+    }
+
+    @Test
+    void updatePackage_unknownId_returns404() throws Exception {
+        mockMvc.perform(put("/packages/" + UUID.randomUUID()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Nobody\",\"description\":\"\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deletePackage_unknownId_returns404() throws Exception {
+        mockMvc.perform(delete("/packages/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchPackages_ranksNameMatchesFirstAndPages() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Winter Pack\",\"description\":\"Zyglot stove\",\"productIds\":[\"id-1\"]}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Zyglot Summer Kit\",\"description\":\"\",\"productIds\":[\"id-1\"]}"))
+                .andExpect(status().isCreated());
+
+        String firstPage = mockMvc.perform(get("/packages/search").param("q", "zyg").param("size", "1")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Zyglot Summer Kit"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+        mockMvc.perform(get("/packages/search").param("q", "zyg").param("size", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Winter Pack"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/packages/search").param("q", "zyglot winter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Winter Pack"));
+    }
+
+    @Test
+    void exportPackages_streamsCsv() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Export, \\\"Quoted\\\" Pack\",\"description\":\"\",\"productIds\":[\"id-1\"]}"))
+                .andExpect(status().isCreated());
+
+        MvcResult pending = mockMvc.perform(get("/packages/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("id,name,description,totalPrice,currency,createdAt\r\n")))
+                .andExpect(content().string(containsString("\"Export, \"\"Quoted\"\" Pack\",,10.00,USD,")));
+    }
+
+    @Test
+    void exportPackages_csvNeutralisesFormulas() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"=HYPERLINK(\\\"http://x\\\",\\\"y\\\")\",\"description\":\"@SUM(A1)\",\"productIds\":[\"id-1\"]}"))
+                .andExpect(status().isCreated());
+
+        MvcResult pending = mockMvc.perform(get("/packages/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'@SUM(A1),10.00,USD,")));
+    }
+
+    @Test
+    void exportPackages_unknownFormat_returns400() throws Exception {
+        mockMvc.perform(get("/packages/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importPackages_streamsErrorsAndSummary() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("10.00")).build()
+        ));
+        String body = "{\"name\":\"Imported\",\"productIds\":[\"id-1\"]}\n"
+                + "{not json\n"
+                + "\n"
+                + "{\"name\":\"\",\"productIds\":[\"id-1\"]}\n";
+        MvcResult pending = mockMvc.perform(post("/packages/import").contentType("application/x-ndjson").content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("{\"type\":\"error\",\"line\":2,")))
+                .andExpect(content().string(containsString("{\"type\":\"error\",\"line\":4,\"error\":\"Name is required\"}")))
+                .andExpect(content().string(containsString("{\"type\":\"summary\",\"linesRead\":4,\"created\":1,\"failed\":2}")));
+    }
+
     @Test
     void getPackagesPaginated() throws Exception {
         mockMvc.perform(get("/packages").param("page", "0").param("size", "10"))
@@ -117,6 +472,40 @@ class PackageControllerTests {
                 .andExpect(jsonPath("$.size").value(10));
     }
 
+    @Test
+    void scrollPackages_followsCursorWithoutRepeatingRows() throws Exception {
+        when(productClient.getProductsByIds(anyList())).thenReturn(Map.of(
+                "id-1", ExternalProductResponse.builder().id("id-1").name("P1").usdPrice(new BigDecimal("5.00")).build()
+        ));
+        String createBody = "{\"name\":\"Scroll Pack\",\"description\":\"\",\"productIds\":[\"id-1\"]}";
+        mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/packages").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andExpect(status().isCreated());
+
+        String firstPage = mockMvc.perform(get("/packages/scroll").param("size", "1").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        String firstId = JsonPath.read(firstPage, "$.content[0].id");
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        String secondPage = mockMvc.perform(get("/packages/scroll").param("size", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        assertNotEquals(firstId, JsonPath.read(secondPage, "$.content[0].id"));
+    }
+
+    @Test
+    void scrollPackages_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get("/packages/scroll").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getPackagesWithCurrency() throws Exception {
         when(exchangeRateClient.getRateUsdTo(anyString())).thenReturn(new BigDecimal("0.92"));
@@ -137,4 +526,11 @@ class PackageControllerTests {
         mockMvc.perform(delete("/packages/" + id)).andExpect(status().isNoContent());
         mockMvc.perform(delete("/packages/" + id)).andExpect(status().isNoContent());
     }
+
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -17,6 +18,7 @@ import static java.util.Arrays.asList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,4 +56,28 @@ class ProductControllerTests {
                 .andExpect(jsonPath("$[1].price").value(19.50))
                 .andExpect(jsonPath("$[1].currency").value("USD"));
     }
+
+    @Test
+    void getProductsReturns304WhenEtagMatches() throws Exception {
+        when(exchangeRateClient.getRateUsdTo(anyString())).thenReturn(new BigDecimal("0.50"));
+        List<ExternalProductResponse> catalog = asList(
+                ExternalProductResponse.builder().id("abc123").name("Gadget").usdPrice(new BigDecimal("19.50")).build()
+        );
+        when(productClient.getProducts()).thenReturn(catalog);
+
+        String etag = mockMvc.perform(get("/products").param("currency", "EUR"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].price").value(9.75))
+                .andExpect(jsonPath("$[0].currency").value("EUR"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/products").param("currency", "EUR").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        when(exchangeRateClient.getRateUsdTo(anyString())).thenReturn(new BigDecimal("0.60"));
+        mockMvc.perform(get("/products").param("currency", "EUR").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].price").value(11.70));
+    }
 }
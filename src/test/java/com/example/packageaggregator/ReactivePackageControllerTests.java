@@ -0,0 +1,194 @@
+package com.example.packageaggregator;
+
+import com.example.packageaggregator.api.dto.PackageResponseDto;
+import com.example.packageaggregator.client.ExchangeRateClient;
+import com.example.packageaggregator.client.ProductClient;
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactivetests",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivetests"
+})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactivePackageControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ProductClient productClient;
+
+    @MockBean
+    private ExchangeRateClient exchangeRateClient;
+
+    @BeforeEach
+    void stubClients() {
+        when(productClient.findProductsByIds(anyCollection())).thenReturn(Mono.just(Map.of(
+                "id-1", ExternalProductResponse.builder()
+                        .id("id-1")
+                        .name("Product 1")
+                        .usdPrice(new BigDecimal("10.00"))
+                        .build(),
+                "id-2", ExternalProductResponse.builder()
+                        .id("id-2")
+                        .name("Product 2")
+                        .usdPrice(new BigDecimal("20.00"))
+                        .build()
+        )));
+        when(exchangeRateClient.findRateUsdTo(anyString())).thenReturn(Mono.just(BigDecimal.ONE));
+    }
+
+    @Test
+    void createThenGetPackage() {
+        PackageResponseDto created = create("Starter Pack");
+        assertNotNull(created);
+
+        webTestClient.get().uri("/packages/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Starter Pack")
+                .jsonPath("$.totalPrice").isEqualTo(30.0)
+                .jsonPath("$.currency").isEqualTo("USD")
+                .jsonPath("$.products.length()").isEqualTo(2);
+    }
+
+    @Test
+    void getPackageInOtherCurrency() {
+        PackageResponseDto created = create("Euro Pack");
+        when(exchangeRateClient.findRateUsdTo("EUR")).thenReturn(Mono.just(new BigDecimal("0.50")));
+
+        webTestClient.get().uri("/packages/{id}?currency=EUR", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalPrice").isEqualTo(15.0)
+                .jsonPath("$.currency").isEqualTo("EUR");
+    }
+
+    @Test
+    void listPackages() {
+        create("Listed Pack");
+
+        webTestClient.get().uri("/packages?page=0&size=100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[?(@.name=='Listed Pack')].totalPrice").isEqualTo(30.0)
+                .jsonPath("$.page").isEqualTo(0);
+    }
+
+    @Test
+    void createPackage_blankName_returns400() {
+        webTestClient.post().uri("/packages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"\",\"description\":\"\",\"productIds\":[\"id-1\"]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.validationErrors.name").exists();
+    }
+
+    @Test
+    void updatePackage_returnMinimal_returns204() {
+        PackageResponseDto created = create("Old Name");
+
+        webTestClient.put().uri("/packages/{id}", created.getId())
+                .header("Prefer", "return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"New Name\",\"description\":\"Updated\"}")
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals("Preference-Applied", "return=minimal");
+
+        webTestClient.get().uri("/packages/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("New Name")
+                .jsonPath("$.description").isEqualTo("Updated");
+    }
+
+    @Test
+    void deletePackage_thenGetReturns404() {
+        PackageResponseDto created = create("Short-lived");
+
+        webTestClient.delete().uri("/packages/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/packages/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getUnknownPackage_returns404() {
+        webTestClient.get().uri("/packages/{id}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getCurrenciesFiltersBySearch() {
+        when(exchangeRateClient.findCurrencies()).thenReturn(Mono.just(
+                Map.of("USD", "United States Dollar", "GBP", "British Pound", "JPY", "Japanese Yen")));
+
+        webTestClient.get().uri("/currencies?search=ja")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].code").isEqualTo("JPY");
+    }
+
+    @Test
+    void getProducts() {
+        when(productClient.findProducts()).thenReturn(Mono.just(List.of(ExternalProductResponse.builder()
+                .id("id-1")
+                .name("Product 1")
+                .usdPrice(new BigDecimal("10.00"))
+                .build())));
+
+        webTestClient.get().uri("/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("id-1");
+    }
+
+    private PackageResponseDto create(String name) {
+        return webTestClient.post().uri("/packages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"" + name + "\",\"description\":\"Bundle\",\"productIds\":[\"id-1\",\"id-2\"]}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PackageResponseDto.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.packageaggregator.client;
+
+import com.example.packageaggregator.client.dto.ExternalProductResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotStoreTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsAllSections() {
+        Path file = dir.resolve("snapshot.bin");
+        CatalogSnapshotStore store = store(file);
+        store.saveProducts(List.of(
+                ExternalProductResponse.builder().id("id-1").name("Product 1").usdPrice(new BigDecimal("10.50")).build(),
+                ExternalProductResponse.builder().id("id-2").name(null).usdPrice(null).build()));
+        store.saveCurrencies(Map.of("USD", "United States Dollar", "EUR", "Euro"));
+        store.saveRateTable(new RateTable(Map.of("EUR", new BigDecimal("0.9123")), "2026-10-16",
+                Instant.ofEpochMilli(1_700_000_000_000L)));
+
+        CatalogSnapshot loaded = store(file).get();
+
+        assertEquals(2, loaded.getProducts().size());
+        ExternalProductResponse first = loaded.getProducts().get(0);
+        assertEquals("id-1", first.getId());
+        assertEquals("Product 1", first.getName());
+        assertEquals(new BigDecimal("10.50"), first.getUsdPrice());
+        assertNull(loaded.getProducts().get(1).getName());
+        assertNull(loaded.getProducts().get(1).getUsdPrice());
+        assertEquals(Map.of("USD", "United States Dollar", "EUR", "Euro"), loaded.getCurrencies());
+        RateTable rates = loaded.getRateTable();
+        assertEquals("2026-10-16", rates.getDate());
+        assertEquals(Instant.ofEpochMilli(1_700_000_000_000L), rates.getFetchedAt());
+        assertEquals(new BigDecimal("0.9123"), rates.rateFor("EUR").orElseThrow());
+    }
+
+    @Test
+    void roundTripsMissingSections() {
+        Path file = dir.resolve("snapshot.bin");
+        CatalogSnapshotStore store = store(file);
+        store.saveCurrencies(Map.of("USD", "United States Dollar"));
+
+        CatalogSnapshot loaded = store(file).get();
+
+        assertNull(loaded.getProducts());
+        assertNull(loaded.getRateTable());
+        assertEquals(Map.of("USD", "United States Dollar"), loaded.getCurrencies());
+    }
+
+    @Test
+    void writeReplacesFileWithoutLeavingTemporaryFile() throws IOException {
+        Path file = dir.resolve("nested/snapshot.bin");
+        CatalogSnapshotStore store = store(file);
+        store.saveCurrencies(Map.of("USD", "United States Dollar"));
+        store.saveCurrencies(Map.of("EUR", "Euro"));
+
+        assertTrue(Files.exists(file));
+        assertFalse(Files.exists(file.resolveSibling("snapshot.bin.tmp")));
+        assertEquals(Map.of("EUR", "Euro"), store(file).get().getCurrencies());
+    }
+
+    @Test
+    void missingFileStartsEmpty() {
+        assertTrue(store(dir.resolve("absent.bin")).get().isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownMagic() throws IOException {
+        Path file = dir.resolve("snapshot.bin");
+        writeHeader(file, 0x12345678, (short) 1);
+
+        assertTrue(store(file).get().isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() throws IOException {
+        Path file = dir.resolve("snapshot.bin");
+        writeHeader(file, 0x50414753, (short) 99);
+
+        assertTrue(store(file).get().isEmpty());
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path file = dir.resolve("snapshot.bin");
+        CatalogSnapshotStore store = store(file);
+        store.saveCurrencies(Map.of("USD", "United States Dollar", "EUR", "Euro"));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertTrue(store(file).get().isEmpty());
+    }
+
+    @Test
+    void disabledStoreNeitherReadsNorWrites() {
+        Path file = dir.resolve("snapshot.bin");
+        CatalogSnapshotStore writer = store(file);
+        writer.saveCurrencies(Map.of("USD", "United States Dollar"));
+
+        CatalogSnapshotStore disabled = new CatalogSnapshotStore(false, file.toString(), Schedulers.immediate());
+        assertTrue(disabled.get().isEmpty());
+        disabled.saveCurrencies(Map.of("EUR", "Euro"));
+        assertTrue(disabled.get().isEmpty());
+    }
+
+    private static CatalogSnapshotStore store(Path file) {
+        return new CatalogSnapshotStore(true, file.toString(), Schedulers.immediate());
+    }
+
+    private static void writeHeader(Path file, int magic, short version) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(magic);
+            out.writeShort(version);
+            out.writeBoolean(false);
+            out.writeBoolean(false);
+            out.writeBoolean(false);
+        }
+    }
+}
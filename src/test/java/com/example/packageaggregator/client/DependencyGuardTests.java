@@ -0,0 +1,122 @@
+package com.example.packageaggregator.client;
+
+import com.example.packageaggregator.exception.ExternalServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DependencyGuardTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+            .slidingWindowSize(10)
+            .minimumNumberOfCalls(5)
+            .failureRateThreshold(50)
+            .build());
+
+    @Test
+    void bulkheadRejectionsDoNotOpenTheCircuit() {
+        DependencyGuard guard = guard(Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build()), budget(10));
+        Disposable inFlight = guard.protect(Mono.never(), "hold").subscribe();
+        try {
+            for (int i = 0; i < 10; i++) {
+                ExternalServiceUnavailableException e = assertThrows(ExternalServiceUnavailableException.class,
+                        () -> guard.protect(Mono.just("ok"), "burst").block());
+                assertEquals("The test service is overloaded; try again shortly.", e.getMessage());
+            }
+        } finally {
+            inFlight.dispose();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(10.0, meterRegistry.get("client.rejections").tag("reason", "bulkhead_full").counter().count());
+    }
+
+    @Test
+    void openCircuitRejectsWithoutCallingDependency() {
+        DependencyGuard guard = guard(Bulkhead.ofDefaults("test"), budget(10));
+        circuitBreaker.transitionToOpenState();
+        AtomicInteger calls = new AtomicInteger();
+
+        ExternalServiceUnavailableException e = assertThrows(ExternalServiceUnavailableException.class,
+                () -> guard.protect(Mono.fromCallable(calls::incrementAndGet), "get").block());
+
+        assertEquals("The test service is unavailable (circuit open).", e.getMessage());
+
+        assertEquals(0, calls.get());
+        assertEquals(1.0, meterRegistry.get("client.rejections").tag("reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void retriesServerErrorsWithinBudget() {
+        DependencyGuard guard = guard(Bulkhead.ofDefaults("test"), budget(10));
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(status(503))
+                : Mono.just("ok"));
+
+        assertEquals("ok", guard.protect(call, "get").block());
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        DependencyGuard guard = guard(Bulkhead.ofDefaults("test"), budget(10));
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(status(400));
+        });
+
+        assertThrows(WebClientResponseException.BadRequest.class, () -> guard.protect(call, "get").block());
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void exhaustedBudgetStopsRetries() {
+        DependencyGuard guard = guard(Bulkhead.ofDefaults("test"), budget(0));
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(status(503));
+        });
+
+        assertThrows(WebClientResponseException.ServiceUnavailable.class, () -> guard.protect(call, "get").block());
+
+        assertEquals(1, attempts.get());
+    }
+
+    private DependencyGuard guard(Bulkhead bulkhead, RetryBudget retryBudget) {
+        return new DependencyGuard("test", circuitBreaker, bulkhead, retryBudget,
+                2, Duration.ofMillis(1), Duration.ofMillis(5), 0.5, meterRegistry);
+    }
+
+    private RetryBudget budget(int capacity) {
+        return new RetryBudget("test", 0.0, capacity, meterRegistry);
+    }
+
+    private static WebClientResponseException status(int status) {
+        return WebClientResponseException.create(status, "status " + status, HttpHeaders.EMPTY, new byte[0], null);
+    }
+}
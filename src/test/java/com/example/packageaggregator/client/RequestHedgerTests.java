@@ -0,0 +1,152 @@
+package com.example.packageaggregator.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHedgerTests {
+
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(100);
+    private static final Duration SLOW = Duration.ofSeconds(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sendsNoHedgeUntilEnoughLatenciesAreObserved() {
+        RequestHedger hedger = hedger(10);
+
+        assertEquals("slow", hedger.hedge(() -> Mono.delay(Duration.ofMillis(200)).thenReturn("slow")).block());
+
+        assertNull(hedger.currentDelay());
+        assertEquals(0.0, hedges("sent"));
+    }
+
+    @Test
+    void backupIsSentAfterHedgeDelayAndWins() {
+        RequestHedger hedger = warmed(hedger(10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(SLOW).thenReturn("primary")
+                : Mono.just("backup")).block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals("backup", result);
+        assertTrue(elapsed.compareTo(HEDGE_DELAY) >= 0, "backup sent before the hedge delay: " + elapsed);
+        assertTrue(elapsed.compareTo(SLOW) < 0, "waited for the slow primary: " + elapsed);
+        assertEquals(1.0, hedges("sent"));
+        assertEquals(1.0, hedges("won"));
+    }
+
+    @Test
+    void fastPrimarySendsNoBackup() throws InterruptedException {
+        RequestHedger hedger = warmed(hedger(10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals("primary", hedger.hedge(() -> {
+            attempts.incrementAndGet();
+            return Mono.just("primary");
+        }).block());
+        Thread.sleep(HEDGE_DELAY.toMillis() * 2);
+
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, hedges("sent"));
+    }
+
+    @Test
+    void exhaustedBudgetSendsNoBackup() {
+        RequestHedger hedger = warmed(hedger(0));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).thenReturn("primary")
+                : Mono.just("backup")).block();
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, hedges("sent"));
+        assertEquals(1.0, meterRegistry.get("client.hedge.budget").tag("outcome", "exhausted").counter().count());
+    }
+
+    @Test
+    void failingBackupDoesNotCancelHealthyPrimary() {
+        RequestHedger hedger = warmed(hedger(10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).thenReturn("primary")
+                : Mono.<String>error(new IOException("connection refused"))).block();
+
+        assertEquals("primary", result);
+        assertEquals(2, attempts.get());
+        assertEquals(0.0, hedges("won"));
+    }
+
+    @Test
+    void failingPrimaryWaitsForBackupInFlight() {
+        RequestHedger hedger = warmed(hedger(10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(150)).then(Mono.<String>error(new IOException("reset")))
+                : Mono.delay(Duration.ofMillis(200)).thenReturn("backup")).block();
+
+        assertEquals("backup", result);
+    }
+
+    @Test
+    void failsWithFirstErrorWhenBothAttemptsFail() {
+        RequestHedger hedger = warmed(hedger(10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).then(Mono.<String>error(new IllegalStateException("primary")))
+                : Mono.<String>error(new IllegalStateException("backup"))).block());
+
+        assertEquals("backup", e.getMessage());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void primaryFailingBeforeHedgeDelayFailsWithoutBackup() throws InterruptedException {
+        RequestHedger hedger = warmed(hedger(10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> hedger.hedge(() -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(new IllegalStateException("primary"));
+        }).block());
+        Thread.sleep(HEDGE_DELAY.toMillis() * 2);
+
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, hedges("sent"));
+    }
+
+    private RequestHedger hedger(int budgetCapacity) {
+        return new RequestHedger("test", true, 0.95, HEDGE_DELAY, 0.0, budgetCapacity, meterRegistry);
+    }
+
+    /** Records enough fast attempts that the hedge delay settles at {@link #HEDGE_DELAY}. */
+    private static RequestHedger warmed(RequestHedger hedger) {
+        for (int i = 0; i < 32; i++) {
+            hedger.hedge(() -> Mono.just("warm-up")).block();
+        }
+        assertEquals(HEDGE_DELAY, hedger.currentDelay());
+        return hedger;
+    }
+
+    private double hedges(String outcome) {
+        return meterRegistry.get("client.hedges").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.packageaggregator.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryBudgetTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void startsFullAndRefusesOnceDrained() {
+        RetryBudget budget = new RetryBudget("test", 0.2, 3, meterRegistry);
+
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        assertEquals(3.0, counter("granted"));
+        assertEquals(1.0, counter("exhausted"));
+        assertEquals(0.0, tokens());
+    }
+
+    @Test
+    void callsDepositRatioOfARetry() {
+        RetryBudget budget = new RetryBudget("test", 0.2, 1, meterRegistry);
+        assertTrue(budget.tryAcquireRetry());
+
+        for (int i = 0; i < 4; i++) {
+            budget.recordCall();
+        }
+        assertFalse(budget.tryAcquireRetry());
+        budget.recordCall();
+        assertTrue(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void depositsAreCappedAtCapacity() {
+        RetryBudget budget = new RetryBudget("test", 0.5, 2, meterRegistry);
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordCall();
+        }
+
+        assertEquals(2.0, tokens());
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void customMetricNameIsUsed() {
+        RetryBudget budget = new RetryBudget("client.hedge.budget", "test", 0.1, 1, meterRegistry);
+        budget.tryAcquireRetry();
+
+        assertEquals(1.0, meterRegistry.get("client.hedge.budget").tag("outcome", "granted").counter().count());
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("client.retry.budget").tag("outcome", outcome).counter().count();
+    }
+
+    private double tokens() {
+        return meterRegistry.get("client.retry.budget.tokens").gauge().value();
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.packageaggregator.service;
+
+import com.example.packageaggregator.api.PackageSearchCursor;
+import com.example.packageaggregator.repository.PackageJpaRepository;
+import com.example.packageaggregator.repository.projection.PackageSummaryRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PackageSearchIndexTests {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Pageable REBUILD_PAGE = PageRequest.of(0, 1000);
+    private static final int COMMON_MATCHES = 50_000;
+
+    private final PackageJpaRepository packageRepository = mock(PackageJpaRepository.class);
+    private final PackageSearchIndex index = new PackageSearchIndex(packageRepository);
+
+    @Test
+    void ranksNameAboveDescriptionAndWholeTermAbovePrefix() {
+        UUID descriptionPrefix = add("Bundle", "Gamers extras", 1);
+        UUID namePrefix = add("Gamers Bundle", "", 2);
+        UUID descriptionTerm = add("Bundle", "Game night", 3);
+        UUID nameTerm = add("Game Pack", "", 4);
+
+        assertEquals(List.of(nameTerm, namePrefix, descriptionTerm, descriptionPrefix), ids(index.search("game", null, 10)));
+    }
+
+    @Test
+    void equalScoresAreNewestFirst() {
+        UUID older = add("Starter Pack", "", 1);
+        UUID newer = add("Starter Kit", "", 2);
+
+        assertEquals(List.of(newer, older), ids(index.search("starter", null, 10)));
+    }
+
+    @Test
+    void everyTokenMustMatch() {
+        UUID both = add("Office Starter", "", 1);
+        add("Office Pro", "", 2);
+        add("Home Starter", "", 3);
+
+        assertEquals(List.of(both), ids(index.search("office starter", null, 10)));
+        assertEquals(List.of(), ids(index.search("office gaming", null, 10)));
+    }
+
+    @Test
+    void singleCharacterTokensMatchWholeTermsOnly() {
+        UUID exact = add("Plan B", "", 1);
+        UUID prefixed = add("Basic", "", 2);
+
+        assertEquals(List.of(exact), ids(index.search("b", null, 10)));
+        assertEquals(List.of(prefixed), ids(index.search("ba", null, 10)));
+    }
+
+    @Test
+    void termsAreCaseAndPunctuationInsensitive() {
+        UUID id = add("Über-Bundle", "4K TV, sound-bar", 1);
+
+        assertEquals(List.of(id), ids(index.search("über 4k", null, 10)));
+        assertEquals(List.of(id), ids(index.search("SOUND", null, 10)));
+        assertEquals(List.of(), ids(index.search("!!", null, 10)));
+    }
+
+    @Test
+    void cursorPagesThroughAllHitsOnce() {
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            expected.add(0, add("Pack " + i, "", i));
+        }
+
+        List<UUID> seen = new ArrayList<>();
+        PackageSearchCursor cursor = null;
+        PackageSearchIndex.Result page;
+        do {
+            page = index.search("pack", cursor, 2);
+            seen.addAll(ids(page));
+            PackageSearchIndex.Hit last = page.getHits().get(page.getHits().size() - 1);
+            cursor = new PackageSearchCursor(last.getScore(), last.getCreatedAt(), last.getId());
+        } while (page.isHasNext());
+
+        assertEquals(expected, seen);
+        assertEquals(5, index.count("pack"));
+    }
+
+    @Test
+    void multiTokenScoresAddUpAcrossFields() {
+        UUID nameAndDescription = add("Office Bundle", "Starter kit", 1);
+        UUID nameOnly = add("Office Starter", "", 2);
+        UUID prefixes = add("Offices Starters", "", 3);
+
+        assertEquals(List.of(nameOnly, nameAndDescription, prefixes), ids(index.search("office starter", null, 10)));
+    }
+
+    @Test
+    void termInNameAndDescriptionCountsOnce() {
+        UUID id = add("Game Pack", "A game night", 1);
+
+        PackageSearchIndex.Result result = index.search("game", null, 10);
+
+        assertEquals(List.of(id), ids(result));
+        assertEquals(8, result.getHits().get(0).getScore());
+        assertEquals(1, index.count("game"));
+    }
+
+    @Test
+    void commonPrefixPageReadsAboutOnePageOfPostings() {
+        for (int i = 0; i < COMMON_MATCHES; i++) {
+            add("Gamer Pack " + i, "", i);
+        }
+        UUID rare = add("Game Night", "", 0);
+
+        PackageSearchIndex.Result first = index.search("game", null, 10);
+        assertEquals(rare, first.getHits().get(0).getId());
+        assertTrue(first.getScanned() <= 12, "scanned " + first.getScanned());
+
+        PackageSearchIndex.Hit last = first.getHits().get(9);
+        PackageSearchIndex.Result next = index.search("game",
+                new PackageSearchCursor(last.getScore(), last.getCreatedAt(), last.getId()), 10);
+        assertEquals(10, next.getHits().size());
+        assertTrue(next.getScanned() <= 12, "scanned " + next.getScanned());
+        assertEquals(COMMON_MATCHES + 1, index.count("game"));
+    }
+
+    @Test
+    void intersectionWalksTheSmallestPostingList() {
+        for (int i = 0; i < COMMON_MATCHES; i++) {
+            add("Office Pack " + i, "", i);
+        }
+        List<UUID> starters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            starters.add(0, add("Office Starter " + i, "", COMMON_MATCHES + i));
+        }
+
+        PackageSearchIndex.Result result = index.search("office starter", null, 10);
+
+        assertEquals(starters, ids(result));
+        assertTrue(result.getScanned() <= starters.size(), "scanned " + result.getScanned());
+    }
+
+    @Test
+    void removeDropsPackage() {
+        UUID id = add("Travel Pack", "", 1);
+
+        index.remove(id);
+
+        assertEquals(0, index.count("travel"));
+    }
+
+    @Test
+    void reindexReplacesTextAndKeepsCreationTime() {
+        UUID older = add("Travel Pack", "", 1);
+        UUID newer = add("Camping Pack", "", 2);
+
+        index.reindex(newer, "Travel Kit", "");
+
+        assertEquals(List.of(), ids(index.search("camping", null, 10)));
+        assertEquals(List.of(newer, older), ids(index.search("travel", null, 10)));
+    }
+
+    @Test
+    void reindexOfUnknownPackageIsIgnored() {
+        index.reindex(UUID.randomUUID(), "Ghost", "");
+
+        assertEquals(0, index.count("ghost"));
+    }
+
+    @Test
+    void rebuildIndexesEveryPage() {
+        List<PackageSummaryRow> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(row("Seeded " + i, 10 - i));
+        }
+        when(packageRepository.findFirstPage(any())).thenReturn(rows.subList(0, 2));
+        when(packageRepository.findPageAfter(rows.get(1).getCreatedAt(), rows.get(1).getId(), REBUILD_PAGE))
+                .thenReturn(rows.subList(2, 3));
+        when(packageRepository.findPageAfter(rows.get(2).getCreatedAt(), rows.get(2).getId(), REBUILD_PAGE))
+                .thenReturn(List.of());
+
+        index.rebuild();
+
+        assertEquals(rows.stream().map(PackageSummaryRow::getId).collect(Collectors.toList()),
+                ids(index.search("seeded", null, 10)));
+    }
+
+    @Test
+    void rebuildDoesNotResurrectPackagesDeletedAfterTheirPageWasRead() {
+        PackageSummaryRow deleted = row("Doomed Pack", 2);
+        PackageSummaryRow updated = row("Old Name", 1);
+        when(packageRepository.findFirstPage(any())).thenAnswer(invocation -> {
+            // Writes committed after the page was read, before the rebuild indexes it.
+            index.remove(deleted.getId());
+            index.reindex(updated.getId(), "New Name", "");
+            return List.of(deleted, updated);
+        });
+        when(packageRepository.findPageAfter(any(), any(), any())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertEquals(0, index.count("doomed"));
+        assertEquals(0, index.count("old"));
+        assertEquals(List.of(updated.getId()), ids(index.search("new", null, 10)));
+    }
+
+    @Test
+    void rebuildKeepsPackagesCreatedWhileItRuns() {
+        PackageSummaryRow row = row("Seeded Pack", 1);
+        UUID[] created = new UUID[1];
+        when(packageRepository.findFirstPage(any())).thenAnswer(invocation -> {
+            created[0] = add("Fresh Pack", "", 2);
+            return List.of(row);
+        });
+        when(packageRepository.findPageAfter(any(), any(), any())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertEquals(List.of(created[0], row.getId()), ids(index.search("pack", null, 10)));
+    }
+
+    @Test
+    void updatesAfterRebuildAreNotBuffered() {
+        when(packageRepository.findFirstPage(any())).thenReturn(List.of());
+        index.rebuild();
+
+        index.reindex(UUID.randomUUID(), "Ghost", "");
+
+        assertTrue(index.search("ghost", null, 10).getHits().isEmpty());
+    }
+
+    private UUID add(String name, String description, int minutes) {
+        UUID id = UUID.randomUUID();
+        index.index(id, name, description, BASE.plusSeconds(60L * minutes));
+        return id;
+    }
+
+    private static PackageSummaryRow row(String name, int minutes) {
+        return new PackageSummaryRow(UUID.randomUUID(), name, "", BigDecimal.TEN, BASE.plusSeconds(60L * minutes));
+    }
+
+    private static List<UUID> ids(PackageSearchIndex.Result result) {
+        return result.getHits().stream().map(PackageSearchIndex.Hit::getId).collect(Collectors.toList());
+    }
+}